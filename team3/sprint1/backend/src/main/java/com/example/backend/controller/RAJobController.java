@@ -1,11 +1,14 @@
 package com.example.backend.controller;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 import com.example.backend.service.RAJobService;
 import com.example.backend.model.RAJob;
+import com.example.backend.search.RAJobFilter;
 
 // TODO this was not boiler-plate code from the lab,
 //I needed this for it to work for me specifically for some reason
@@ -20,9 +23,32 @@ public class RAJobController {
         this.service = service;
     }
 
+    // Open jobs, written straight from the catalog's pre-serialized JSON.
+    // ?status=CLOSED lists closed jobs instead, read from the database.
     @GetMapping
-    public List<RAJob> getJobs() {
-        return service.getAllJobs();
+    public ResponseEntity<?> getJobs(@RequestParam(required = false) RAJob.Status status) {
+        if (status != null) {
+            return ResponseEntity.ok(service.getJobsByStatus(status));
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(service.getCatalog().getJson());
+    }
+
+    // Jobs ranked by how well they match q, best first; without q, every job
+    // passing the filters in id order. Closed jobs are included unless status says otherwise.
+    @GetMapping("/search")
+    public ResponseEntity<List<RAJob>> searchJobs(@RequestParam(required = false) String q,
+                                                  @RequestParam(required = false) RAJob.Status status,
+                                                  @RequestParam(required = false) Boolean paid,
+                                                  @RequestParam(required = false) Double minStipend,
+                                                  @RequestParam(required = false) Double maxStipend,
+                                                  @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        RAJobFilter filter = new RAJobFilter(status, paid, minStipend, maxStipend);
+        return ResponseEntity.ok(service.searchJobs(q, filter, limit));
     }
 
     @PostMapping
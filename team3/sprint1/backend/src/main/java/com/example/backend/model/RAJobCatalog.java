@@ -1,5 +1,113 @@
 package com.example.backend.model;
 
-// TODO
-public class RAJobCatalog {
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+/**
+ * Immutable snapshot of the open RA jobs (any status but CLOSED) together with
+ * their JSON list, serialized once. A change returns a new catalog and leaves
+ * this one as it is, so a reader never sees half of a write. Each job's JSON is
+ * kept on its own: a change serializes only the changed job and copies the
+ * bytes of the others.
+ *
+ * <p>The jobs and the JSON bytes are shared between requests and must not be modified.
+ */
+public final class RAJobCatalog {
+
+    private final SortedMap<Long, RAJob> jobs;
+    private final SortedMap<Long, byte[]> jobJson;
+    private final byte[] json;
+
+    private RAJobCatalog(SortedMap<Long, RAJob> jobs, SortedMap<Long, byte[]> jobJson) {
+        this.jobs = Collections.unmodifiableSortedMap(jobs);
+        this.jobJson = Collections.unmodifiableSortedMap(jobJson);
+        this.json = join(jobJson.values());
+    }
+
+    public static RAJobCatalog of(Collection<RAJob> jobs, ObjectWriter writer) {
+        SortedMap<Long, RAJob> open = new TreeMap<>();
+        SortedMap<Long, byte[]> json = new TreeMap<>();
+        for (RAJob job : jobs) {
+            if (isOpen(job)) {
+                open.put(job.getId(), job);
+                json.put(job.getId(), serialize(job, writer));
+            }
+        }
+        return new RAJobCatalog(open, json);
+    }
+
+    public static boolean isOpen(RAJob job) {
+        return job.getStatus() != RAJob.Status.CLOSED;
+    }
+
+    // This catalog with the job added or replaced, or removed if it is no longer open.
+    public RAJobCatalog with(RAJob job, ObjectWriter writer) {
+        if (!isOpen(job)) {
+            return without(job.getId());
+        }
+        SortedMap<Long, RAJob> changedJobs = new TreeMap<>(jobs);
+        SortedMap<Long, byte[]> changedJson = new TreeMap<>(jobJson);
+        changedJobs.put(job.getId(), job);
+        changedJson.put(job.getId(), serialize(job, writer));
+        return new RAJobCatalog(changedJobs, changedJson);
+    }
+
+    public RAJobCatalog without(Long id) {
+        if (!jobs.containsKey(id)) {
+            return this;
+        }
+        SortedMap<Long, RAJob> changedJobs = new TreeMap<>(jobs);
+        SortedMap<Long, byte[]> changedJson = new TreeMap<>(jobJson);
+        changedJobs.remove(id);
+        changedJson.remove(id);
+        return new RAJobCatalog(changedJobs, changedJson);
+    }
+
+    // Open jobs in id order.
+    public List<RAJob> getJobs() {
+        return List.copyOf(jobs.values());
+    }
+
+    public RAJob getJob(Long id) {
+        return jobs.get(id);
+    }
+
+    // The JSON array of getJobs(), as the list endpoint returns it.
+    public byte[] getJson() {
+        return json;
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    private static byte[] serialize(RAJob job, ObjectWriter writer) {
+        try {
+            return writer.writeValueAsBytes(job);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize job " + job.getId(), e);
+        }
+    }
+
+    private static byte[] join(Collection<byte[]> parts) {
+        int length = 2 + Math.max(0, parts.size() - 1);
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length);
+        out.write('[');
+        boolean first = true;
+        for (byte[] part : parts) {
+            if (!first) {
+                out.write(',');
+            }
+            out.write(part, 0, part.length);
+            first = false;
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
 }
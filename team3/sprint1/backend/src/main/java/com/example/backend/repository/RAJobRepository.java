@@ -1,7 +1,21 @@
 package com.example.backend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
 import com.example.backend.model.RAJob;
 
 public interface RAJobRepository extends JpaRepository<RAJob, Long> {
+
+    // Both collections are lists (bags), which Hibernate cannot fetch in one query;
+    // run these two in one transaction and each job comes back with both loaded.
+    @Query("select distinct j from RAJob j left join fetch j.preferredMajors")
+    List<RAJob> findAllWithPreferredMajors();
+
+    @Query("select distinct j from RAJob j left join fetch j.skillsRequired")
+    List<RAJob> findAllWithSkillsRequired();
+
+    List<RAJob> findByStatus(RAJob.Status status);
 }
@@ -0,0 +1,40 @@
+package com.example.backend.search;
+
+import com.example.backend.model.RAJob;
+
+// Exact filters for job search; a null value means "no filter". A stipend bound
+// leaves out jobs without a stipend amount.
+public final class RAJobFilter {
+
+    public static final RAJobFilter NONE = new RAJobFilter(null, null, null, null);
+
+    private final RAJob.Status status;
+    private final Boolean paid;
+    private final Double minStipend;
+    private final Double maxStipend;
+
+    public RAJobFilter(RAJob.Status status, Boolean paid, Double minStipend, Double maxStipend) {
+        this.status = status;
+        this.paid = paid;
+        this.minStipend = minStipend;
+        this.maxStipend = maxStipend;
+    }
+
+    public boolean matches(RAJob job) {
+        if (status != null && job.getStatus() != status) {
+            return false;
+        }
+        if (paid != null && job.isPaid() != paid) {
+            return false;
+        }
+        if (minStipend != null || maxStipend != null) {
+            Double stipend = job.getStipendAmount();
+            if (stipend == null
+                    || (minStipend != null && stipend < minStipend)
+                    || (maxStipend != null && stipend > maxStipend)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
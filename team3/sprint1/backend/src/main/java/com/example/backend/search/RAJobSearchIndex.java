@@ -0,0 +1,338 @@
+package com.example.backend.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.example.backend.model.RAJob;
+
+/**
+ * In-memory inverted index over RA jobs, ranked with BM25. A job's terms come
+ * from its title, description, department, skills and preferred majors; a term
+ * in the title counts three times, and in the skills, majors or department
+ * twice, so a job about a subject outranks one that only mentions it. Filled
+ * and kept up to date by RAJobService; jobs are shared with the catalog and
+ * read-only.
+ */
+@Component
+public class RAJobSearchIndex {
+
+    // BM25 parameters.
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int KEYWORD_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Jobs by slot; slots of removed jobs are reused.
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private final List<RAJob> jobs = new ArrayList<>();
+    private final List<String[]> termsOf = new ArrayList<>();
+    // Where each of a slot's terms sits in that term's postings, so removing a
+    // job costs its own term count rather than a scan of every list it is in.
+    private final List<int[]> positionsOf = new ArrayList<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int[] lengths = new int[1024];
+    private long[] jobIds = new long[1024];
+    private long totalLength;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Per-thread score arrays, so a query allocates nothing in proportion to the index.
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Adds a job, or replaces the one indexed with the same id.
+    public void index(RAJob job) {
+        Map<String, Integer> counts = new HashMap<>();
+        count(counts, job.getTitle(), TITLE_WEIGHT);
+        count(counts, job.getDescription(), DESCRIPTION_WEIGHT);
+        count(counts, job.getDepartment(), KEYWORD_WEIGHT);
+        if (job.getSkillsRequired() != null) {
+            job.getSkillsRequired().forEach(skill -> count(counts, skill, KEYWORD_WEIGHT));
+        }
+        if (job.getPreferredMajors() != null) {
+            job.getPreferredMajors().forEach(major -> count(counts, major, KEYWORD_WEIGHT));
+        }
+        int length = counts.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(job.getId());
+            int slot;
+            if (freeSlots.isEmpty()) {
+                slot = jobs.size();
+                jobs.add(null);
+                termsOf.add(null);
+                positionsOf.add(null);
+                if (slot == lengths.length) {
+                    lengths = Arrays.copyOf(lengths, slot * 2);
+                    jobIds = Arrays.copyOf(jobIds, slot * 2);
+                }
+            } else {
+                slot = freeSlots.pop();
+            }
+            slots.put(job.getId(), slot);
+            jobs.set(slot, job);
+            String[] terms = counts.keySet().toArray(new String[0]);
+            int[] positions = new int[terms.length];
+            for (int k = 0; k < terms.length; k++) {
+                positions[k] = postings.computeIfAbsent(terms[k], term -> new Postings())
+                        .add(slot, k, counts.get(terms[k]));
+            }
+            termsOf.set(slot, terms);
+            positionsOf.set(slot, positions);
+            lengths[slot] = length;
+            jobIds[slot] = job.getId();
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long id) {
+        Integer slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+        String[] terms = termsOf.get(slot);
+        int[] positions = positionsOf.get(slot);
+        for (int k = 0; k < terms.length; k++) {
+            Postings list = postings.get(terms[k]);
+            int position = positions[k];
+            if (list.remove(position)) {
+                positionsOf.get(list.slots[position])[list.termIndexes[position]] = position;
+            }
+            if (list.size == 0) {
+                postings.remove(terms[k]);
+            }
+        }
+        totalLength -= lengths[slot];
+        jobs.set(slot, null);
+        termsOf.set(slot, null);
+        positionsOf.set(slot, null);
+        freeSlots.push(slot);
+    }
+
+    // The limit best jobs for the query among those passing the filter, best first;
+    // ties go to the older job. Without query words, the filtered jobs in id order.
+    public List<RAJob> search(String query, RAJobFilter filter, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokens(query));
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty()) {
+                // Every job scores 0, so the tie-break alone orders them.
+                TopN first = new TopN(limit);
+                for (int slot = 0; slot < jobs.size(); slot++) {
+                    RAJob job = jobs.get(slot);
+                    if (job != null && first.wouldKeep(0, jobIds[slot]) && filter.matches(job)) {
+                        first.offer(slot, 0, jobIds[slot]);
+                    }
+                }
+                return first.slotsBestFirst().stream().map(jobs::get).toList();
+            }
+            int documentCount = slots.size();
+            double averageLength = documentCount == 0 ? 1 : Math.max(1, (double) totalLength / documentCount);
+            double lengthWeight = K1 * B / averageLength;
+            Scratch scratch = SCRATCH.get().ensure(jobs.size());
+            double[] scores = scratch.scores;
+            int[] touched = scratch.touched;
+            int touchedCount = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    int tf = list.counts[i];
+                    if (scores[slot] == 0) {
+                        touched[touchedCount++] = slot;
+                    }
+                    scores[slot] += idf * tf * (K1 + 1) / (tf + K1 * (1 - B) + lengthWeight * lengths[slot]);
+                }
+            }
+
+            TopN best = new TopN(limit);
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                if (best.wouldKeep(scores[slot], jobIds[slot]) && filter.matches(jobs.get(slot))) {
+                    best.offer(slot, scores[slot], jobIds[slot]);
+                }
+                scores[slot] = 0;
+            }
+            return best.slotsBestFirst().stream().map(jobs::get).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void count(Map<String, Integer> counts, String text, int weight) {
+        for (String token : tokens(text)) {
+            counts.merge(token, weight, Integer::sum);
+        }
+    }
+
+    // Lower-case runs of letters and digits.
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text != null) {
+            for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    // Scores by slot, all zero between queries, and the slots a query scored.
+    private static final class Scratch {
+        double[] scores = new double[0];
+        int[] touched = new int[0];
+
+        Scratch ensure(int slotCount) {
+            if (scores.length < slotCount) {
+                scores = new double[slotCount];
+                touched = new int[slotCount];
+            }
+            return this;
+        }
+    }
+
+    // Bounded min-heap of (score, job id, slot); the root is the worst kept entry.
+    private static final class TopN {
+        private final int limit;
+        private final double[] scores;
+        private final long[] ids;
+        private final int[] slots;
+        private int count;
+
+        TopN(int limit) {
+            this.limit = limit;
+            this.scores = new double[limit];
+            this.ids = new long[limit];
+            this.slots = new int[limit];
+        }
+
+        // Whether (s1, id1) ranks below (s2, id2): lower score, or equal score and newer job.
+        private static boolean worse(double s1, long id1, double s2, long id2) {
+            return s1 < s2 || (s1 == s2 && id1 > id2);
+        }
+
+        boolean wouldKeep(double score, long id) {
+            return count < limit || worse(scores[0], ids[0], score, id);
+        }
+
+        // Only called when wouldKeep is true.
+        void offer(int slot, double score, long id) {
+            int i;
+            if (count < limit) {
+                i = count++;
+                while (i > 0) {
+                    int parent = (i - 1) / 2;
+                    if (!worse(score, id, scores[parent], ids[parent])) {
+                        break;
+                    }
+                    move(parent, i);
+                    i = parent;
+                }
+            } else {
+                i = 0;
+                while (true) {
+                    int child = 2 * i + 1;
+                    if (child >= count) {
+                        break;
+                    }
+                    if (child + 1 < count && worse(scores[child + 1], ids[child + 1], scores[child], ids[child])) {
+                        child++;
+                    }
+                    if (!worse(scores[child], ids[child], score, id)) {
+                        break;
+                    }
+                    move(child, i);
+                    i = child;
+                }
+            }
+            scores[i] = score;
+            ids[i] = id;
+            slots[i] = slot;
+        }
+
+        private void move(int from, int to) {
+            scores[to] = scores[from];
+            ids[to] = ids[from];
+            slots[to] = slots[from];
+        }
+
+        List<Integer> slotsBestFirst() {
+            List<Integer> order = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                order.add(i);
+            }
+            order.sort((a, b) -> worse(scores[a], ids[a], scores[b], ids[b]) ? 1
+                    : worse(scores[b], ids[b], scores[a], ids[a]) ? -1 : 0);
+            return order.stream().map(i -> slots[i]).toList();
+        }
+    }
+
+    // Slots holding a term with its weighted count, unordered. termIndexes[i] is
+    // the term's index in termsOf for slots[i].
+    private static class Postings {
+        int[] slots = new int[4];
+        int[] counts = new int[4];
+        int[] termIndexes = new int[4];
+        int size;
+
+        // Returns the new entry's position.
+        int add(int slot, int termIndex, int count) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+                termIndexes = Arrays.copyOf(termIndexes, size * 2);
+            }
+            slots[size] = slot;
+            counts[size] = count;
+            termIndexes[size] = termIndex;
+            return size++;
+        }
+
+        // Moves the last entry into the gap; true when an entry moved to position.
+        boolean remove(int position) {
+            size--;
+            if (position == size) {
+                return false;
+            }
+            slots[position] = slots[size];
+            counts[position] = counts[size];
+            termIndexes[position] = termIndexes[size];
+            return true;
+        }
+    }
+}
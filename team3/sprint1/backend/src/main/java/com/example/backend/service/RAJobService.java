@@ -1,29 +1,78 @@
 package com.example.backend.service;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.annotation.PostConstruct;
 
 import java.util.List;
 
 import com.example.backend.model.RAJob;
+import com.example.backend.model.RAJobCatalog;
 import com.example.backend.repository.RAJobRepository;
+import com.example.backend.search.RAJobFilter;
+import com.example.backend.search.RAJobSearchIndex;
 
 @Service
 public class RAJobService {
     private final RAJobRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter jobWriter;
+    private final RAJobSearchIndex searchIndex;
+
+    // Open jobs; replaced as a whole after every write.
+    private volatile RAJobCatalog catalog;
 
-    public RAJobService(RAJobRepository repository) {
+    public RAJobService(RAJobRepository repository, TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                        RAJobSearchIndex searchIndex) {
         this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        // The same settings as the JSON Spring writes for any other response.
+        this.jobWriter = objectMapper.writerFor(RAJob.class);
+        this.searchIndex = searchIndex;
+    }
+
+    // One load fills both the catalog (open jobs) and the search index (all jobs).
+    @PostConstruct
+    void loadCatalog() {
+        List<RAJob> jobs = transactionTemplate.execute(status -> {
+            repository.findAllWithPreferredMajors();
+            return repository.findAllWithSkillsRequired();
+        });
+        catalog = RAJobCatalog.of(jobs, jobWriter);
+        jobs.forEach(searchIndex::index);
+    }
+
+    // Served from memory; no database access.
+    public RAJobCatalog getCatalog() {
+        return catalog;
+    }
+
+    public List<RAJob> getJobsByStatus(RAJob.Status status) {
+        if (status != RAJob.Status.CLOSED) {
+            return catalog.getJobs().stream().filter(job -> job.getStatus() == status).toList();
+        }
+        return repository.findByStatus(status);
     }
 
-    public List<RAJob> getAllJobs() {
-        return repository.findAll();
+    public List<RAJob> searchJobs(String query, RAJobFilter filter, int limit) {
+        return searchIndex.search(query, filter, limit);
     }
 
-    public RAJob saveRAJob(RAJob job) {
-        return repository.save(job);
+    // Writes are serialized so the catalog is updated in the order they commit.
+    public synchronized RAJob saveRAJob(RAJob job) {
+        RAJob saved = repository.save(job);
+        catalog = catalog.with(saved, jobWriter);
+        searchIndex.index(saved);
+        return saved;
     }
 
-    public void deleteRAJob(Long id) {
+    public synchronized void deleteRAJob(Long id) {
         repository.deleteById(id);
+        catalog = catalog.without(id);
+        searchIndex.remove(id);
     }
 }
@@ -0,0 +1,149 @@
+package com.example.backend.controller;
+
+import com.example.backend.model.RAJob;
+import com.example.backend.repository.RAJobRepository;
+import com.example.backend.service.RAJobService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * GET /api/jobs served from the catalog against the old way of listing jobs
+ * (findAll, with the two collections loaded per job while the response is
+ * written): both must return the same body. The requests-per-second
+ * comparison from a few concurrent clients is tagged "perf" and only runs
+ * with ./gradlew perfTest.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(RAJobListLoadTests.FindAllController.class)
+class RAJobListLoadTests {
+
+    private static final int JOBS = 500;
+    private static final int CLIENTS = 4;
+    private static final long WARMUP_MILLIS = 1000;
+    private static final long MEASURE_MILLIS = 3000;
+
+    // GET /api/jobs as it was before the catalog.
+    @TestConfiguration
+    @RestController
+    static class FindAllController {
+        @Autowired
+        private RAJobRepository repository;
+
+        @GetMapping("/test/jobs/find-all")
+        List<RAJob> getJobs() {
+            return repository.findAll();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RAJobService service;
+
+    @Autowired
+    private RAJobRepository repository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    void tearDown() {
+        service.getCatalog().getJobs().forEach(job -> service.deleteRAJob(job.getId()));
+        repository.deleteAll();
+    }
+
+    @Test
+    void catalogReturnsSameBodyAsFindAll() throws Exception {
+        saveJobs();
+        assertEquals(get("/test/jobs/find-all"), get("/api/jobs"));
+    }
+
+    @Test
+    @Tag("perf")
+    void catalogServesMoreRequestsPerSecondThanFindAll() throws Exception {
+        saveJobs();
+        double findAllRate = requestsPerSecond("/test/jobs/find-all");
+        double catalogRate = requestsPerSecond("/api/jobs");
+        assertTrue(catalogRate > findAllRate, () -> String.format(
+                "GET /api/jobs, %d jobs, %d clients: findAll %.0f req/s, catalog %.0f req/s",
+                JOBS, CLIENTS, findAllRate, catalogRate));
+    }
+
+    private void saveJobs() {
+        for (int i = 0; i < JOBS; i++) {
+            RAJob job = new RAJob();
+            job.setTitle("Research assistant " + i);
+            job.setDescription("Help with data collection and analysis for project " + i + ".");
+            job.setStatus(RAJob.Status.OPEN);
+            job.setDepartment("Computer Science");
+            job.setPaid(i % 2 == 0);
+            job.setStipendAmount(i % 2 == 0 ? 1500.0 : null);
+            job.setPreferredMajors(List.of("Computer Science", "Statistics"));
+            job.setSkillsRequired(List.of("Python", "SQL", "Writing"));
+            service.saveRAJob(job);
+        }
+    }
+
+    private String get(String path) throws Exception {
+        HttpResponse<String> response = client.send(request(path), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return response.body();
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+    }
+
+    private double requestsPerSecond(String path) throws Exception {
+        run(path, WARMUP_MILLIS);
+        return run(path, MEASURE_MILLIS) * 1000.0 / MEASURE_MILLIS;
+    }
+
+    // Completed requests from CLIENTS clients sending back to back for the given time.
+    private long run(String path, long millis) throws Exception {
+        HttpRequest request = request(path);
+        LongAdder completed = new LongAdder();
+        long end = System.currentTimeMillis() + millis;
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                running.add(clients.submit(() -> {
+                    while (System.currentTimeMillis() < end) {
+                        client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        completed.increment();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        } finally {
+            clients.shutdown();
+        }
+        return completed.sum();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.backend.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RAJobCatalogTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ObjectWriter writer = objectMapper.writerFor(RAJob.class);
+
+    private static RAJob job(long id, String title, RAJob.Status status) {
+        RAJob job = new RAJob();
+        job.setId(id);
+        job.setTitle(title);
+        job.setStatus(status);
+        job.setPreferredMajors(List.of("Computer Science"));
+        job.setSkillsRequired(List.of("Java", "SQL"));
+        return job;
+    }
+
+    @Test
+    void holdsOpenJobsWithTheirJsonList() throws Exception {
+        RAJob first = job(1, "Lab assistant", RAJob.Status.OPEN);
+        RAJob closed = job(2, "Grader", RAJob.Status.CLOSED);
+        RAJob unset = job(3, "Survey coder", null);
+        RAJobCatalog catalog = RAJobCatalog.of(List.of(unset, closed, first), writer);
+
+        assertEquals(List.of(first, unset), catalog.getJobs());
+        assertArrayEquals(objectMapper.writeValueAsBytes(List.of(first, unset)), catalog.getJson());
+        assertArrayEquals("[]".getBytes(), RAJobCatalog.of(List.of(), writer).getJson());
+    }
+
+    @Test
+    void changesLeaveTheOldCatalogAsItWas() throws Exception {
+        RAJob first = job(1, "Lab assistant", RAJob.Status.OPEN);
+        RAJob second = job(2, "Grader", RAJob.Status.OPEN);
+        RAJobCatalog catalog = RAJobCatalog.of(List.of(first, second), writer);
+        byte[] json = catalog.getJson().clone();
+
+        RAJob renamed = job(1, "Lab manager", RAJob.Status.OPEN);
+        RAJobCatalog updated = catalog.with(renamed, writer).with(job(3, "Tutor", RAJob.Status.OPEN), writer);
+        RAJobCatalog closed = updated.with(job(2, "Grader", RAJob.Status.CLOSED), writer);
+        RAJobCatalog deleted = closed.without(3L);
+
+        assertArrayEquals(json, catalog.getJson());
+        assertEquals(List.of(first, second), catalog.getJobs());
+        assertEquals(3, updated.size());
+        assertEquals(List.of(1L, 3L), closed.getJobs().stream().map(RAJob::getId).toList());
+        assertArrayEquals(objectMapper.writeValueAsBytes(List.of(renamed)), deleted.getJson());
+        assertSame(deleted, deleted.without(42L));
+    }
+}
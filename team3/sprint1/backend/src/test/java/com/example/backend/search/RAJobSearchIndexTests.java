@@ -0,0 +1,156 @@
+package com.example.backend.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.example.backend.model.RAJob;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RAJobSearchIndexTests {
+
+    private final RAJobSearchIndex index = new RAJobSearchIndex();
+
+    private static RAJob job(long id, String title, String description, RAJob.Status status,
+                             boolean paid, Double stipend, List<String> skills) {
+        RAJob job = new RAJob();
+        job.setId(id);
+        job.setTitle(title);
+        job.setDescription(description);
+        job.setStatus(status);
+        job.setPaid(paid);
+        job.setStipendAmount(stipend);
+        job.setDepartment("Computer Science");
+        job.setPreferredMajors(List.of("Computer Science"));
+        job.setSkillsRequired(skills);
+        return job;
+    }
+
+    private static List<Long> ids(List<RAJob> jobs) {
+        return jobs.stream().map(RAJob::getId).toList();
+    }
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMentions() {
+        index.index(job(1, "Survey coder", "Code interviews; some machine learning later.",
+                RAJob.Status.OPEN, false, null, List.of("Excel")));
+        index.index(job(2, "Machine Learning Research Assistant", "Train models for the vision lab.",
+                RAJob.Status.OPEN, true, 1500.0, List.of("Python", "PyTorch")));
+        index.index(job(3, "Lab assistant", "Keep the lab tidy.", RAJob.Status.OPEN, false, null, List.of()));
+
+        assertEquals(List.of(2L, 1L), ids(index.search("machine learning", RAJobFilter.NONE, 10)));
+        assertEquals(List.of(2L), ids(index.search("PYTORCH!", RAJobFilter.NONE, 10)));
+        assertEquals(List.of(), index.search("quantum", RAJobFilter.NONE, 10));
+        assertEquals(List.of(2L), ids(index.search("assistant learning", RAJobFilter.NONE, 1)));
+    }
+
+    @Test
+    void appliesFiltersToRankedAndUnrankedResults() {
+        index.index(job(1, "Data assistant", "", RAJob.Status.OPEN, true, 500.0, List.of()));
+        index.index(job(2, "Data assistant", "", RAJob.Status.OPEN, true, 2000.0, List.of()));
+        index.index(job(3, "Data assistant", "", RAJob.Status.CLOSED, true, 1000.0, List.of()));
+        index.index(job(4, "Data assistant", "", RAJob.Status.OPEN, false, null, List.of()));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(index.search("data", RAJobFilter.NONE, 10)));
+        assertEquals(List.of(1L, 2L, 4L), ids(index.search("data", new RAJobFilter(RAJob.Status.OPEN, null, null, null), 10)));
+        assertEquals(List.of(4L), ids(index.search("data", new RAJobFilter(null, false, null, null), 10)));
+        assertEquals(List.of(2L, 3L), ids(index.search("data", new RAJobFilter(null, null, 1000.0, null), 10)));
+        assertEquals(List.of(1L, 3L), ids(index.search("", new RAJobFilter(null, true, null, 1000.0), 10)));
+        assertEquals(List.of(1L), ids(index.search(null, new RAJobFilter(RAJob.Status.OPEN, true, 100.0, 900.0), 10)));
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        index.index(job(1, "Grader", "Grade homework.", RAJob.Status.OPEN, false, null, List.of()));
+        index.index(job(2, "Grader", "Grade exams.", RAJob.Status.OPEN, false, null, List.of()));
+
+        index.index(job(1, "Tutor", "Help students.", RAJob.Status.OPEN, false, null, List.of()));
+        index.remove(2L);
+        index.remove(42L);
+        index.index(job(3, "Tutor", "Tutor exams.", RAJob.Status.OPEN, false, null, List.of()));
+
+        assertEquals(2, index.size());
+        assertEquals(List.of(), index.search("grader", RAJobFilter.NONE, 10));
+        assertEquals(List.of(3L, 1L), ids(index.search("tutor", RAJobFilter.NONE, 10)));
+        assertEquals(List.of(3L), ids(index.search("exams", RAJobFilter.NONE, 10)));
+    }
+
+    @Test
+    void keepsSharedTermsRightAcrossManyRemovals() {
+        Random random = new Random(7);
+        List<Long> live = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            index.index(job(id, "Lab assistant", "Run the lab " + id + ".", RAJob.Status.OPEN, false, null,
+                    id % 3 == 0 ? List.of("Python") : List.of()));
+            live.add(id);
+        }
+        for (int i = 0; i < 150; i++) {
+            Long id = live.get(random.nextInt(live.size()));
+            if (random.nextBoolean()) {
+                index.remove(id);
+                live.remove(id);
+            } else {
+                index.index(job(id, "Lab assistant", "Run the lab " + id + ".", RAJob.Status.OPEN, false, null,
+                        List.of("Python")));
+            }
+        }
+
+        List<Long> expected = live.stream().sorted().toList();
+        assertEquals(expected.size(), index.size());
+        assertEquals(expected, ids(index.search("lab assistant", RAJobFilter.NONE, 200)).stream().sorted().toList());
+        for (long id : expected) {
+            assertEquals(List.of(id), ids(index.search(String.valueOf(id), RAJobFilter.NONE, 10)));
+        }
+    }
+
+    @Test
+    @Tag("perf")
+    void answersQueriesOverFiftyThousandJobsQuickly() {
+        Random random = new Random(42);
+        for (long id = 1; id <= 50_000; id++) {
+            index.index(job(id, sentence(random, 4), sentence(random, 60),
+                    random.nextBoolean() ? RAJob.Status.OPEN : RAJob.Status.CLOSED, random.nextBoolean(),
+                    random.nextBoolean() ? null : (double) random.nextInt(3000),
+                    List.of(word(random), word(random))));
+        }
+
+        RAJobFilter filter = new RAJobFilter(RAJob.Status.OPEN, true, 500.0, null);
+        for (int i = 0; i < 2000; i++) {
+            index.search(sentence(random, 2), filter, 20);
+        }
+        long[] nanos = new long[1000];
+        for (int i = 0; i < nanos.length; i++) {
+            String query = sentence(random, 1 + random.nextInt(3));
+            RAJobFilter queryFilter = i % 2 == 0 ? filter : RAJobFilter.NONE;
+            long start = System.nanoTime();
+            List<RAJob> hits = index.search(query, queryFilter, 20);
+            nanos[i] = System.nanoTime() - start;
+            assertTrue(hits.size() <= 20);
+        }
+        Arrays.sort(nanos);
+        double p50 = nanos[nanos.length / 2] / 1e6;
+        double p99 = nanos[nanos.length * 99 / 100] / 1e6;
+        assertTrue(p99 < 10, () -> String.format("RA job search over 50000 jobs: p50 %.2f ms, p99 %.2f ms", p50, p99));
+    }
+
+    // Words from a 2,000-word vocabulary, skewed like real text: the most common
+    // appear in most jobs, the rare ones in a handful.
+    private static String word(Random random) {
+        double r = random.nextDouble();
+        return "w" + (int) (2000 * r * r * r);
+    }
+
+    private static String sentence(Random random, int length) {
+        List<String> picked = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            picked.add(word(random));
+        }
+        return String.join(" ", picked);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ta_ms.matching;
+
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.JobPosting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking every posting for one student profile and keeping the top 20.
+ * Postings list up to three skills, two required courses and two standings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PostingMatcherBenchmark {
+
+    private static final String[] STANDINGS = {"Freshman", "Sophomore", "Junior", "Senior"};
+
+    @Param({"100000", "1000000"})
+    public int postings;
+
+    private PostingMatcher matcher;
+    private StudentProfile profile;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(21);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            courses.add(new Course("CS" + (1000 + i), "Course " + i, ""));
+        }
+        matcher = new PostingMatcher();
+        for (int id = 1; id <= postings; id++) {
+            JobPosting posting = new JobPosting("Dr. Faculty", "", null, "", null);
+            posting.setJobid(id);
+            posting.setSkills("Skill " + random.nextInt(500) + ", Skill " + random.nextInt(500) + ", Skill " + random.nextInt(500));
+            posting.setRequiredCourses(new HashSet<>(List.of(courses.get(random.nextInt(200)), courses.get(random.nextInt(200)))));
+            posting.setStandings(new HashSet<>(List.of(STANDINGS[random.nextInt(4)], STANDINGS[2 + random.nextInt(2)])));
+            matcher.index(posting);
+        }
+        profile = new StudentProfile(List.of("Skill 1", "Skill 7", "Skill 42", "Skill 99"),
+                List.of("CS1000", "CS1001", "CS1002", "CS1050", "CS1100"), "Junior");
+    }
+
+    @Benchmark
+    public List<PostingMatch> topMatches() {
+        return matcher.topMatches(profile, 20);
+    }
+}
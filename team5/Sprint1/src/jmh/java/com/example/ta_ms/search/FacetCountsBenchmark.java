@@ -0,0 +1,65 @@
+package com.example.ta_ms.search;
+
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.JobPosting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Facet counts and facet filtering from the standing, instructor and course
+ * bitmaps, with no other filter ("none") or with a standing selected
+ * ("senior"). Counting is one intersection cardinality per facet value.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FacetCountsBenchmark {
+
+    private static final String[] STANDINGS = {"Freshman", "Sophomore", "Junior", "Senior"};
+
+    @Param({"100000", "1000000"})
+    public int postings;
+
+    @Param({"none", "senior"})
+    public String selection;
+
+    private JobPostingSearchIndex index;
+    private FacetSelection facets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(19);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            courses.add(new Course("CS" + (1000 + i), "Course " + i, ""));
+        }
+        index = new JobPostingSearchIndex();
+        for (int id = 1; id <= postings; id++) {
+            JobPosting posting = new JobPosting("Dr. Faculty " + random.nextInt(100), "",
+                    courses.get(random.nextInt(courses.size())), "", null);
+            posting.setJobid(id);
+            posting.setStandings(new HashSet<>(List.of(STANDINGS[random.nextInt(4)], STANDINGS[2 + random.nextInt(2)])));
+            index.index(posting);
+        }
+        facets = selection.equals("senior")
+                ? new FacetSelection(List.of("Senior"), null, null)
+                : FacetSelection.NONE;
+    }
+
+    @Benchmark
+    public Map<String, Map<String, Integer>> facetCounts() {
+        return index.facetCounts(null, null, null, null, facets);
+    }
+
+    // Standing plus one instructor, the IDs handed to the database for a filtered page.
+    @Benchmark
+    public int[] findPostings() {
+        return index.findPostings(null, null, null, null,
+                new FacetSelection(facets.getStandings(), List.of("Dr. Faculty 7"), null));
+    }
+}
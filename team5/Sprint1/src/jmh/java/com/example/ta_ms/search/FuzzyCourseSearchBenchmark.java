@@ -0,0 +1,53 @@
+package com.example.ta_ms.search;
+
+import com.example.ta_ms.entities.Course;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuzzy course search over a catalog of generated course names: a two-word
+ * name with a typo in each word, and a course number with two digits swapped.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FuzzyCourseSearchBenchmark {
+
+    private static final String[] WORDS = {"introduction", "principles", "data", "structures", "algorithms",
+            "databases", "systems", "networks", "security", "machine", "learning", "software", "engineering",
+            "operating", "compilers", "graphics", "theory", "computation", "programming", "languages",
+            "distributed", "parallel", "computing", "artificial", "intelligence", "design", "analysis",
+            "web", "mobile", "applications", "cloud", "robotics", "vision", "statistics", "calculus"};
+
+    @Param({"1000", "10000"})
+    public int courses;
+
+    private FuzzyCourseIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(23);
+        index = new FuzzyCourseIndex();
+        for (int i = 0; i < courses; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + (i % 7 + 1);
+            index.index(new Course("CS" + (1000 + i), name, ""));
+        }
+    }
+
+    @Benchmark
+    public List<String> nameWithTypos() {
+        return index.search("machin lerning", 10);
+    }
+
+    @Benchmark
+    public List<String> numberWithSwappedDigits() {
+        return index.search("cs1243", 10);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.ta_ms.search;
+
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.JobPosting;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Substring filtering of postings through the trigram index against the
+ * toLowerCase().contains scan it replaced, on generated postings. Times grow
+ * with the number of matches for the index and with the number of postings
+ * for the scan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class JobPostingSearchBenchmark {
+
+    private static final String[] SKILLS = {"Java", "Python", "SQL", "C++", "JavaScript", "React", "Spring",
+            "Machine Learning", "Statistics", "Linux", "Networking", "Compilers", "Go", "Rust", "Haskell"};
+    private static final String[] SURNAMES = {"Smith", "Johnson", "Nguyen", "Garcia", "Patel", "Kim", "Lopez",
+            "Chen", "Brown", "Davis", "Miller", "Wilson", "Moore", "Taylor", "Anderson"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int postings;
+
+    @Param({"java", "smi", "cs15"})
+    public String query;
+
+    private JobPostingSearchIndex index;
+    private List<JobPosting> all;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(16);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            courses.add(new Course("CS" + (1000 + i), "Course " + i, ""));
+        }
+        index = new JobPostingSearchIndex();
+        all = new ArrayList<>(postings);
+        for (int id = 1; id <= postings; id++) {
+            JobPosting posting = new JobPosting(
+                    "Dr. " + SURNAMES[random.nextInt(SURNAMES.length)] + " " + (char) ('A' + random.nextInt(26)),
+                    "", courses.get(random.nextInt(courses.size())), "", null);
+            posting.setJobid(id);
+            posting.setSkills(SKILLS[random.nextInt(SKILLS.length)] + ", " + SKILLS[random.nextInt(SKILLS.length)]);
+            index.index(posting);
+            all.add(posting);
+        }
+    }
+
+    // "java" filters on skills, "smi" on the instructor, "cs15" on the course number.
+    @Benchmark
+    public int[] index() {
+        return switch (query) {
+            case "java" -> index.findPostings(null, null, query, null, FacetSelection.NONE);
+            case "smi" -> index.findPostings(null, null, null, query, FacetSelection.NONE);
+            default -> index.findPostings(query, null, null, null, FacetSelection.NONE);
+        };
+    }
+
+    @Benchmark
+    public int scan() {
+        String lower = query.toLowerCase();
+        int matches = 0;
+        for (JobPosting posting : all) {
+            String field = switch (query) {
+                case "java" -> posting.getSkills();
+                case "smi" -> posting.getFacultyName();
+                default -> posting.getCourse().getCourseNumber();
+            };
+            if (field != null && field.toLowerCase().contains(lower)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
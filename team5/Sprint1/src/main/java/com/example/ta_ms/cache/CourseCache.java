@@ -0,0 +1,216 @@
+package com.example.ta_ms.cache;
+
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.repositories.CourseRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The course catalog in memory. Reads go to an immutable snapshot that is
+ * replaced whenever a course is saved through {@link com.example.ta_ms.services.CourseService};
+ * a lookup for a number the snapshot does not have reads through to the
+ * database. Course numbers are matched case-insensitively, as MySQL does.
+ *
+ * <p>The cached courses are shared between requests and must be treated as
+ * read-only; link postings to courses with {@code getReferenceById} instead.
+ */
+@Component
+public class CourseCache {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    void load() {
+        reload();
+        Gauge.builder("courses.cache.size", this, CourseCache::size).register(meterRegistry);
+        Gauge.builder("courses.cache.hit.ratio", this, CourseCache::hitRate).register(meterRegistry);
+        FunctionCounter.builder("courses.cache.lookups", hits, LongAdder::sum).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("courses.cache.lookups", misses, LongAdder::sum).tag("result", "miss").register(meterRegistry);
+    }
+
+    // Replaces the snapshot with the database contents, e.g. after rows changed outside the application.
+    public synchronized void reload() {
+        snapshot = Snapshot.of(courseRepository.findAll());
+    }
+
+    // All courses ordered by course number; the list is unmodifiable.
+    public List<Course> all() {
+        return snapshot.all;
+    }
+
+    public Course find(String courseNumber) {
+        Course course = snapshot.byNumber.get(key(courseNumber));
+        if (course != null) {
+            hits.increment();
+            return course;
+        }
+        misses.increment();
+        course = courseRepository.findById(courseNumber).orElse(null);
+        if (course != null) {
+            put(course);
+        }
+        return course;
+    }
+
+    // The courses that exist among the numbers, keyed by the number as given.
+    // Numbers missing from the snapshot are read through with a single query.
+    public Map<String, Course> findAll(Collection<String> courseNumbers) {
+        Snapshot current = snapshot;
+        Map<String, Course> found = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String courseNumber : courseNumbers) {
+            Course course = current.byNumber.get(key(courseNumber));
+            if (course != null) {
+                hits.increment();
+                found.put(courseNumber, course);
+            } else {
+                misses.increment();
+                missing.add(courseNumber);
+            }
+        }
+        if (!missing.isEmpty()) {
+            List<Course> loaded = courseRepository.findAllById(missing);
+            if (!loaded.isEmpty()) {
+                putAll(loaded);
+                Map<String, Course> byKey = new HashMap<>();
+                loaded.forEach(course -> byKey.put(key(course.getCourseNumber()), course));
+                for (String courseNumber : missing) {
+                    Course course = byKey.get(key(courseNumber));
+                    if (course != null) {
+                        found.put(courseNumber, course);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    // Courses whose number or name starts with the prefix (case-insensitive):
+    // number matches in number order, then name matches in name order.
+    public List<Course> findByPrefix(String prefix) {
+        Snapshot current = snapshot;
+        String lower = key(prefix);
+        Set<Course> matches = new LinkedHashSet<>();
+        for (int i = lowerBound(current.numbers, lower); i < current.numbers.length && current.numbers[i].startsWith(lower); i++) {
+            matches.add(current.all.get(i));
+        }
+        for (int i = lowerBound(current.names, lower); i < current.names.length && current.names[i].startsWith(lower); i++) {
+            matches.add(current.byName[i]);
+        }
+        return List.copyOf(matches);
+    }
+
+    // Courses whose name contains the text (case-insensitive).
+    public List<Course> findByNameContaining(String text) {
+        String lower = key(text);
+        return snapshot.all.stream()
+                .filter(course -> course.getCourseName() != null && key(course.getCourseName()).contains(lower))
+                .toList();
+    }
+
+    // Courses whose number contains the text (case-insensitive).
+    public List<Course> findByNumberContaining(String text) {
+        String lower = key(text);
+        return snapshot.all.stream()
+                .filter(course -> key(course.getCourseNumber()).contains(lower))
+                .toList();
+    }
+
+    // Write-through: call once the save has committed.
+    public void put(Course course) {
+        putAll(List.of(course));
+    }
+
+    // A cached course with a higher change version is kept: a read-through that
+    // overlaps a save may arrive with the row as it was before the save.
+    public synchronized void putAll(Collection<Course> courses) {
+        Map<String, Course> updated = new HashMap<>(snapshot.byNumber);
+        for (Course course : courses) {
+            updated.merge(key(course.getCourseNumber()), course,
+                    (cached, read) -> cached.getChangeVersion() > read.getChangeVersion() ? cached : read);
+        }
+        snapshot = Snapshot.of(updated.values());
+    }
+
+    public int size() {
+        return snapshot.all.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int lowerBound(String[] sorted, String value) {
+        int i = Arrays.binarySearch(sorted, value);
+        if (i < 0) {
+            return -i - 1;
+        }
+        // Step back over equal entries; several courses may share a name.
+        while (i > 0 && sorted[i - 1].equals(value)) {
+            i--;
+        }
+        return i;
+    }
+
+    private static final class Snapshot {
+        final List<Course> all;
+        final Map<String, Course> byNumber;
+        // Lower-case numbers, parallel to all.
+        final String[] numbers;
+        // Courses sorted by lower-case name, parallel to names.
+        final Course[] byName;
+        final String[] names;
+
+        private Snapshot(List<Course> all) {
+            this.all = all;
+            Map<String, Course> byNumber = new HashMap<>();
+            numbers = new String[all.size()];
+            for (int i = 0; i < all.size(); i++) {
+                numbers[i] = key(all.get(i).getCourseNumber());
+                byNumber.put(numbers[i], all.get(i));
+            }
+            this.byNumber = Map.copyOf(byNumber);
+            byName = all.stream()
+                    .filter(course -> course.getCourseName() != null)
+                    .sorted(Comparator.comparing(course -> key(course.getCourseName())))
+                    .toArray(Course[]::new);
+            names = Arrays.stream(byName).map(course -> key(course.getCourseName())).toArray(String[]::new);
+        }
+
+        static Snapshot of(Collection<Course> courses) {
+            List<Course> sorted = new ArrayList<>(courses);
+            sorted.sort(Comparator.comparing(course -> key(course.getCourseNumber())));
+            return new Snapshot(List.copyOf(sorted));
+        }
+    }
+}
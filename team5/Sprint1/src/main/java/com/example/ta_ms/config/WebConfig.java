@@ -16,6 +16,7 @@ public class WebConfig {
                 registry.addMapping("/api/**")
                         .allowedOrigins("http://localhost:3000")
                         .allowedMethods("GET", "POST", "PUT", "DELETE")
+                        .exposedHeaders("X-Total-Count", "ETag", "X-Change-Version")
                         .allowCredentials(true);
             }
         };
@@ -1,9 +1,13 @@
 package com.example.ta_ms.controllers;
 
 import com.example.ta_ms.entities.Course;
-import com.example.ta_ms.repositories.CourseRepository;
+import com.example.ta_ms.services.CourseService;
+import com.example.ta_ms.sync.ChangeVersions;
+import com.example.ta_ms.sync.Changes;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -11,18 +15,49 @@ import java.util.List;
 @RequestMapping("/api/courses")
 public class CourseController {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    @Autowired
+    private CourseService courseService;
+
     @Autowired
-    private CourseRepository courseRepository;
+    private ChangeVersions changeVersions;
 
     // POST endpoint to add a new course
     @PostMapping
     public Course addCourse(@RequestBody Course course) {
-        return courseRepository.save(course);
+        return courseService.saveCourse(course);
     }
 
-    // GET endpoint to fetch all courses (if needed)
+    // GET endpoint to fetch all courses, or with ?prefix= those whose number or name starts with it.
+    // Served from the in-memory course catalog. Conditional like /api/jobpostings/filter:
+    // ETag and If-None-Match, plus X-Change-Version for /changes?since=.
     @GetMapping
-    public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+    public ResponseEntity<List<Course>> getAllCourses(@RequestParam(required = false) String prefix,
+                                                      WebRequest webRequest) {
+        if (changeVersions.checkNotModified(webRequest)) {
+            return null;
+        }
+        long version = changeVersions.current();
+        List<Course> courses = prefix != null && !prefix.trim().isEmpty()
+                ? courseService.findCoursesByPrefix(prefix)
+                : courseService.getAllCourses();
+        return ResponseEntity.ok().header("X-Change-Version", String.valueOf(version)).body(courses);
+    }
+
+    // Typo-tolerant search over course numbers and name words, e.g. ?q=data strucutres
+    // or ?q=cs 1314; best matches first.
+    @GetMapping("/search")
+    public ResponseEntity<?> searchCourses(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        return ResponseEntity.ok(courseService.searchCourses(q, limit));
+    }
+
+    // Courses written after a version: {"version": 42, "changed": [{..course..}], "deleted": []}.
+    @GetMapping("/changes")
+    public Changes<Course, String> getChanges(@RequestParam long since) {
+        return courseService.findChangesSince(since);
     }
 }
\ No newline at end of file
@@ -1,11 +1,19 @@
 package com.example.ta_ms.controllers;
 
 import com.example.ta_ms.entities.JobPosting;
+import com.example.ta_ms.search.FacetSelection;
 import com.example.ta_ms.services.JobPostingService;
+import com.example.ta_ms.sync.ChangeVersions;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,33 +24,72 @@ public class FilterClassesController {
     @Autowired
     private JobPostingService jobPostingService;
 
+    @Autowired
+    private ChangeVersions changeVersions;
+
     // Note: We added an additional "/filter" path to differentiate filtering from a plain GET all.
+    // All filters are combined; page, size and sort (e.g. sort=facultyName,desc) select the page.
+    // Without page and size every match is returned, as before paging existed.
+    // standing, instructor and course are exact facet values and may be repeated to match any of them.
+    // The body stays a plain list, with the total in the X-Total-Count header.
+    // The ETag is the data version: If-None-Match with it answers 304 until something
+    // is written. X-Change-Version is where to start syncing with /changes?since=.
     @GetMapping("/filter")
     public ResponseEntity<?> getFilteredJobPostings(
             @RequestParam(required = false) String courseNumber,
             @RequestParam(required = false) String courseName,
             @RequestParam(required = false) String skill,
             @RequestParam(required = false) String instructorName,
-            @RequestParam(required = false) String standing
+            @RequestParam(required = false) List<String> standing,
+            @RequestParam(required = false) List<String> instructor,
+            @RequestParam(required = false) List<String> course,
+            @PageableDefault(size = 50, sort = "jobid", direction = Sort.Direction.ASC) Pageable pageable,
+            WebRequest webRequest
     ) {
+        if (changeVersions.checkNotModified(webRequest)) {
+            return null;
+        }
+        long version = changeVersions.current();
+        if (webRequest.getParameter("page") == null && webRequest.getParameter("size") == null) {
+            pageable = Pageable.unpaged(pageable.getSort());
+        }
         try {
-            List<JobPosting> postings;
-            // Prioritize filtering by skill/instructor/standing if provided
-            if ((skill != null && !skill.trim().isEmpty()) ||
-                    (instructorName != null && !instructorName.trim().isEmpty()) ||
-                    (standing != null && !standing.trim().isEmpty())) {
-                postings = jobPostingService.filterJobPostings(skill, instructorName, standing);
-            } else if ((courseNumber != null && !courseNumber.trim().isEmpty()) ||
-                    (courseName != null && !courseName.trim().isEmpty())) {
-                postings = jobPostingService.filterJobPostingsByCourse(courseNumber, courseName);
-            } else {
-                postings = jobPostingService.getAllJobPostings();
-            }
-            return ResponseEntity.ok(postings);
+            Page<JobPosting> page = jobPostingService.filterJobPostings(courseNumber, courseName, skill,
+                    instructorName, new FacetSelection(standing, instructor, course), pageable);
+            return ResponseEntity.ok()
+                    .header("X-Total-Count", String.valueOf(page.getTotalElements()))
+                    .header("X-Change-Version", String.valueOf(version))
+                    .body(page.getContent());
+        } catch (PropertyReferenceException e) {
+            return ResponseEntity.badRequest().body("Invalid sort property: " + e.getPropertyName());
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error filtering job postings: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // Postings written or deleted after a version, e.g. the X-Change-Version of a
+    // full load or the "version" of the previous call:
+    // {"version": 42, "changed": [{..posting..}], "deleted": [17]}.
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam long since) {
+        return ResponseEntity.ok(jobPostingService.findChangesSince(since));
+    }
+
+    // Number of postings per standing, instructor and course number under the same filters,
+    // e.g. {"standing": {"Senior": 12, "Junior": 7}, "instructor": {...}, "courseNumber": {...}}.
+    @GetMapping("/facets")
+    public ResponseEntity<?> getFacetCounts(
+            @RequestParam(required = false) String courseNumber,
+            @RequestParam(required = false) String courseName,
+            @RequestParam(required = false) String skill,
+            @RequestParam(required = false) String instructorName,
+            @RequestParam(required = false) List<String> standing,
+            @RequestParam(required = false) List<String> instructor,
+            @RequestParam(required = false) List<String> course
+    ) {
+        return ResponseEntity.ok(jobPostingService.facetCounts(courseNumber, courseName, skill, instructorName,
+                new FacetSelection(standing, instructor, course)));
+    }
+}
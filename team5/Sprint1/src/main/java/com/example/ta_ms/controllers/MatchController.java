@@ -0,0 +1,29 @@
+package com.example.ta_ms.controllers;
+
+import com.example.ta_ms.matching.StudentProfile;
+import com.example.ta_ms.services.JobPostingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/jobpostings")
+public class MatchController {
+
+    private static final int MAX_LIMIT = 200;
+
+    @Autowired
+    private JobPostingService jobPostingService;
+
+    // Ranks all postings for a student profile, e.g.
+    // {"skills": ["Java", "SQL"], "completedCourses": ["CS1341"], "standing": "Junior"},
+    // and returns the best ones as [{"jobid": .., "score": .., "posting": {..}}, ..].
+    @PostMapping("/match")
+    public ResponseEntity<?> matchJobPostings(@RequestBody StudentProfile profile,
+                                              @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return ResponseEntity.ok(jobPostingService.matchJobPostings(profile, limit));
+    }
+}
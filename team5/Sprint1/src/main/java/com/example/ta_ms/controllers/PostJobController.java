@@ -1,12 +1,13 @@
 package com.example.ta_ms.controllers;
 
-import com.example.ta_ms.entities.Course;
 import com.example.ta_ms.entities.JobPosting;
-import com.example.ta_ms.repositories.CourseRepository;
 import com.example.ta_ms.services.JobPostingService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/jobpostings")
 public class PostJobController {
@@ -14,49 +15,35 @@ public class PostJobController {
     @Autowired
     private JobPostingService jobPostingService;
 
-    @Autowired
-    private CourseRepository courseRepository;
-
+    // Saves one posting, or replaces the one with the given jobid. The primary course
+    // and each required course are looked up in the course cache; courses that do
+    // not exist yet are created with it.
     @PostMapping
-    public JobPosting createJobPosting(@RequestBody JobPosting jobData) {
-        // Ensure the primary course exists in the database.
-        if (jobData.getCourse() != null && jobData.getCourse().getCourseNumber() != null) {
-            Course existingCourse = courseRepository.findById(jobData.getCourse().getCourseNumber()).orElse(null);
-            if (existingCourse != null) {
-                jobData.setCourse(existingCourse);
-            } else {
-                // Create and persist the new course.
-                Course newCourse = new Course(
-                        jobData.getCourse().getCourseNumber(),
-                        jobData.getCourse().getCourseName(),
-                        jobData.getCourse().getDescription()
-                );
-                courseRepository.save(newCourse);
-                jobData.setCourse(newCourse);
-            }
+    public ResponseEntity<?> createJobPosting(@RequestBody JobPosting jobData) {
+        try {
+            return ResponseEntity.ok(jobPostingService.saveJobPostingWithCourses(jobData));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
+    }
 
-        // For each required course, ensure we use the persisted version.
-        if (jobData.getRequiredCourses() != null && !jobData.getRequiredCourses().isEmpty()) {
-            jobData.setRequiredCourses(
-                    jobData.getRequiredCourses().stream().map(course -> {
-                        if (course.getCourseNumber() != null) {
-                            return courseRepository.findById(course.getCourseNumber())
-                                    .orElseGet(() -> {
-                                        Course newReqCourse = new Course(
-                                                course.getCourseNumber(),
-                                                course.getCourseName(),
-                                                course.getDescription()
-                                        );
-                                        return courseRepository.save(newReqCourse);
-                                    });
-                        }
-                        return course;
-                    }).collect(java.util.stream.Collectors.toSet())
-            );
-        }
+    // Deletes a posting; clients syncing with /changes see its ID under "deleted".
+    @DeleteMapping("/{jobid}")
+    public ResponseEntity<Void> deleteJobPosting(@PathVariable int jobid) {
+        return jobPostingService.deleteJobPosting(jobid)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
 
-        // Save and return the job posting.
-        return jobPostingService.saveJobPosting(jobData);
+    // Bulk import, e.g. a semester's postings in a few calls. Courses are resolved
+    // and created the same way as above, but for the whole batch at once; every
+    // posting is inserted as a new one, whatever jobid it carries.
+    @PostMapping("/bulk")
+    public ResponseEntity<?> importJobPostings(@RequestBody List<JobPosting> postings) {
+        try {
+            return ResponseEntity.ok(jobPostingService.importJobPostings(postings));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
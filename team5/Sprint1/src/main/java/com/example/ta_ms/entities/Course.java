@@ -1,9 +1,13 @@
 package com.example.ta_ms.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+        @Index(name = "idx_courses_course_name", columnList = "course_name"),
+        @Index(name = "idx_courses_change_version", columnList = "change_version")
+})
 public class Course {
 
     @Id
@@ -12,6 +16,11 @@ public class Course {
     private String courseName;
     private String description;
 
+    // Version of the last write, from ChangeVersions; set by CourseService.
+    // Rows written outside the application get 0, like rows from before the column existed.
+    @ColumnDefault("0")
+    private long changeVersion;
+
     // Constructors
     public Course() {}
 
@@ -46,6 +55,14 @@ public class Course {
         this.description = description;
     }
 
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
     // Example helper method
     public String getCourseDetails() {
         return courseName + ": " + description;
@@ -0,0 +1,31 @@
+package com.example.ta_ms.entities;
+
+import jakarta.persistence.*;
+
+// Tombstone of a deleted posting, so clients syncing with ?since= learn about the delete.
+@Entity
+@Table(name = "deleted_job_postings",
+        indexes = @Index(name = "idx_deleted_job_postings_change_version", columnList = "change_version"))
+public class DeletedJobPosting {
+
+    @Id
+    private int jobid;
+
+    private long changeVersion;
+
+    public DeletedJobPosting() {
+    }
+
+    public DeletedJobPosting(int jobid, long changeVersion) {
+        this.jobid = jobid;
+        this.changeVersion = changeVersion;
+    }
+
+    public int getJobid() {
+        return jobid;
+    }
+
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+}
@@ -2,9 +2,13 @@ package com.example.ta_ms.entities;
 
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
+import jakarta.persistence.TableGenerator;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
@@ -19,14 +23,34 @@ import java.util.Date;
 import java.util.Set;
 import java.util.HashSet;
 import jakarta.persistence.CascadeType;
+import org.hibernate.annotations.ColumnDefault;
 
 
 @Entity
-@Table(name = "job_postings")
+// Everything the JSON view touches, so reads load a posting in one statement.
+@NamedEntityGraph(name = JobPosting.WITH_ASSOCIATIONS, attributeNodes = {
+        @NamedAttributeNode("course"),
+        @NamedAttributeNode("requiredCourses"),
+        @NamedAttributeNode("standings")
+})
+@Table(name = "job_postings", indexes = {
+        @Index(name = "idx_job_postings_course_number", columnList = "course_number"),
+        @Index(name = "idx_job_postings_faculty_name", columnList = "faculty_name"),
+        @Index(name = "idx_job_postings_change_version", columnList = "change_version")
+})
 public class JobPosting {
 
+    public static final String WITH_ASSOCIATIONS = "JobPosting.withAssociations";
+
+    public static final String ID_GENERATOR = "job_postings_id";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled IDs from a generator table rather than IDENTITY, so inserts can be
+    // batched; JobPostingIdGenerator moves the pool past rows numbered by AUTO_INCREMENT.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = JobPosting.ID_GENERATOR)
+    @TableGenerator(name = JobPosting.ID_GENERATOR, table = "id_generators", pkColumnName = "name",
+            valueColumnName = "next_val", pkColumnValue = "job_postings", allocationSize = JobPosting.ID_ALLOCATION_SIZE)
     private int jobid;
 
     private String facultyName;
@@ -49,13 +73,20 @@ public class JobPosting {
     @ElementCollection
     @CollectionTable(
             name = "jobposting_standings",
-            joinColumns = @JoinColumn(name = "jobposting_id")
+            joinColumns = @JoinColumn(name = "jobposting_id"),
+            // Standing filters look postings up by standing.
+            indexes = @Index(name = "idx_jobposting_standings_standing", columnList = "standing, jobposting_id")
     )
     @Column(name = "standing")
     private Set<String> standings = new HashSet<>();
 
     private String jobDetails;
 
+    // Version of the last write, from ChangeVersions; set by JobPostingService.
+    // Rows written outside the application get 0, like rows from before the column existed.
+    @ColumnDefault("0")
+    private long changeVersion;
+
 // Constructors
     public JobPosting() {
     }
@@ -132,6 +163,14 @@ public class JobPosting {
         this.jobDetails = jobDetails;
     }
 
+    public long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
     // Example entity methods
     public void updatePosting(String details) {
         this.jobDetails = details;
@@ -0,0 +1,32 @@
+package com.example.ta_ms.matching;
+
+import com.example.ta_ms.entities.JobPosting;
+
+// One ranked result: the posting's score in [0, 1] and, once loaded, the posting itself.
+public class PostingMatch {
+
+    private final int jobid;
+    private final double score;
+    private JobPosting posting;
+
+    public PostingMatch(int jobid, double score) {
+        this.jobid = jobid;
+        this.score = score;
+    }
+
+    public int getJobid() {
+        return jobid;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public JobPosting getPosting() {
+        return posting;
+    }
+
+    public void setPosting(JobPosting posting) {
+        this.posting = posting;
+    }
+}
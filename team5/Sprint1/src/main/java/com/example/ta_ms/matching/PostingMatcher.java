@@ -0,0 +1,334 @@
+package com.example.ta_ms.matching;
+
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.JobPosting;
+import com.example.ta_ms.repositories.JobPostingRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Ranks postings for a student profile. Each posting is kept as a feature
+ * vector: its skill IDs, required course IDs and a bitmask of accepted
+ * standings. The score is a weighted sum of
+ * <ul>
+ *     <li>the share of the posting's skills the student has,</li>
+ *     <li>the share of its required courses the student has completed, and</li>
+ *     <li>1 if the student's standing is accepted, else 0.</li>
+ * </ul>
+ * A posting that lists no skills, courses or standings fully meets that part.
+ * Scoring walks the vectors in chunks on the common pool, keeping the best N
+ * per chunk. Loaded at startup and updated on every save, like the search index.
+ */
+@Component
+public class PostingMatcher {
+
+    private static final int CHUNK_SIZE = 16_384;
+
+    @Autowired
+    private JobPostingRepository jobPostingRepository;
+
+    @Value("${matching.weight.skills:0.5}")
+    private double skillWeight = 0.5;
+
+    @Value("${matching.weight.courses:0.3}")
+    private double courseWeight = 0.3;
+
+    @Value("${matching.weight.standing:0.2}")
+    private double standingWeight = 0.2;
+
+    // Dense IDs for skills, course numbers and standings (lower-case).
+    private final Map<String, Integer> skillIds = new HashMap<>();
+    private final Map<String, Integer> courseIds = new HashMap<>();
+    private final Map<String, Integer> standingIds = new HashMap<>();
+
+    // Feature vectors by slot; slots are dense, removal moves the last one in.
+    private final Map<Integer, Integer> slots = new HashMap<>();
+    private int[] jobids = new int[1024];
+    private int[][] skills = new int[1024][];
+    private int[][] courses = new int[1024][];
+    private long[] standings = new long[1024];
+    private int size;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            slots.clear();
+            Arrays.fill(skills, 0, size, null);
+            Arrays.fill(courses, 0, size, null);
+            size = 0;
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        Map<Integer, List<String>> required = new HashMap<>();
+        for (Object[] row : jobPostingRepository.findAllRequiredCourseNumbers()) {
+            required.computeIfAbsent((Integer) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        Map<Integer, List<String>> accepted = new HashMap<>();
+        for (Object[] row : jobPostingRepository.findAllStandings()) {
+            accepted.computeIfAbsent((Integer) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        for (Object[] row : jobPostingRepository.findAllSearchFields()) {
+            int jobid = (Integer) row[0];
+            put(jobid, (String) row[1], required.getOrDefault(jobid, List.of()), accepted.getOrDefault(jobid, List.of()));
+        }
+    }
+
+    public void index(JobPosting posting) {
+        List<String> required = new ArrayList<>();
+        if (posting.getRequiredCourses() != null) {
+            for (Course course : posting.getRequiredCourses()) {
+                required.add(course.getCourseNumber());
+            }
+        }
+        put(posting.getJobid(), posting.getSkills(), required,
+                posting.getStandings() == null ? List.of() : posting.getStandings());
+    }
+
+    public void remove(int jobid) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(jobid);
+            if (slot == null) {
+                return;
+            }
+            int last = --size;
+            if (slot != last) {
+                jobids[slot] = jobids[last];
+                skills[slot] = skills[last];
+                courses[slot] = courses[last];
+                standings[slot] = standings[last];
+                slots.put(jobids[slot], slot);
+            }
+            skills[last] = null;
+            courses[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The limit best postings for the profile, best first; ties go to the older posting.
+    public List<PostingMatch> topMatches(StudentProfile profile, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            boolean[] hasSkill = new boolean[skillIds.size()];
+            for (String skill : skillTerms(profile.getSkills())) {
+                Integer id = skillIds.get(skill);
+                if (id != null) {
+                    hasSkill[id] = true;
+                }
+            }
+            boolean[] completed = new boolean[courseIds.size()];
+            if (profile.getCompletedCourses() != null) {
+                for (String courseNumber : profile.getCompletedCourses()) {
+                    Integer id = courseNumber == null ? null : courseIds.get(key(courseNumber));
+                    if (id != null) {
+                        completed[id] = true;
+                    }
+                }
+            }
+            Integer standingId = profile.getStanding() == null ? null : standingIds.get(key(profile.getStanding()));
+            long standingBit = standingId == null || standingId >= 64 ? 0 : 1L << standingId;
+
+            int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            TopN best = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> {
+                        TopN top = new TopN(limit);
+                        int end = Math.min(size, (chunk + 1) * CHUNK_SIZE);
+                        for (int slot = chunk * CHUNK_SIZE; slot < end; slot++) {
+                            top.offer(jobids[slot], score(slot, hasSkill, completed, standingBit));
+                        }
+                        return top;
+                    })
+                    .reduce(TopN::merge)
+                    .orElseGet(() -> new TopN(limit));
+            return best.toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double score(int slot, boolean[] hasSkill, boolean[] completed, long standingBit) {
+        return skillWeight * coverage(skills[slot], hasSkill)
+                + courseWeight * coverage(courses[slot], completed)
+                + standingWeight * (standings[slot] == 0 || (standings[slot] & standingBit) != 0 ? 1 : 0);
+    }
+
+    // Share of the required IDs the student has; 1 when nothing is required.
+    private static double coverage(int[] required, boolean[] has) {
+        if (required.length == 0) {
+            return 1;
+        }
+        int met = 0;
+        for (int id : required) {
+            if (has[id]) {
+                met++;
+            }
+        }
+        return (double) met / required.length;
+    }
+
+    private void put(int jobid, String skillText, Collection<String> courseNumbers, Collection<String> standingNames) {
+        lock.writeLock().lock();
+        try {
+            int[] skillVector = skillTerms(skillText == null ? List.of() : List.of(skillText)).stream()
+                    .mapToInt(skill -> idOf(skillIds, skill)).toArray();
+            int[] courseVector = courseNumbers.stream().filter(Objects::nonNull).map(PostingMatcher::key)
+                    .distinct().mapToInt(courseNumber -> idOf(courseIds, courseNumber)).toArray();
+            long standingMask = 0;
+            for (String standing : standingNames) {
+                int id = idOf(standingIds, key(standing));
+                // Only a handful of standings exist; anything past 64 cannot be matched.
+                if (id < 64) {
+                    standingMask |= 1L << id;
+                }
+            }
+
+            Integer slot = slots.get(jobid);
+            if (slot == null) {
+                if (size == jobids.length) {
+                    int capacity = size * 2;
+                    jobids = Arrays.copyOf(jobids, capacity);
+                    skills = Arrays.copyOf(skills, capacity);
+                    courses = Arrays.copyOf(courses, capacity);
+                    standings = Arrays.copyOf(standings, capacity);
+                }
+                slot = size++;
+                slots.put(jobid, slot);
+            }
+            jobids[slot] = jobid;
+            skills[slot] = skillVector;
+            courses[slot] = courseVector;
+            standings[slot] = standingMask;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Distinct lower-case skills; a posting lists them comma-separated, e.g. "Java, SQL".
+    private static Set<String> skillTerms(Collection<String> texts) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (texts != null) {
+            for (String text : texts) {
+                if (text == null) {
+                    continue;
+                }
+                for (String term : text.split("[,;/\\n]")) {
+                    if (!term.trim().isEmpty()) {
+                        terms.add(key(term));
+                    }
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static int idOf(Map<String, Integer> ids, String value) {
+        return ids.computeIfAbsent(value, v -> ids.size());
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Bounded min-heap of (score, jobid); the root is the worst kept entry.
+    private static final class TopN {
+        private final int limit;
+        private final double[] scores;
+        private final int[] ids;
+        private int count;
+
+        TopN(int limit) {
+            this.limit = limit;
+            this.scores = new double[limit];
+            this.ids = new int[limit];
+        }
+
+        // Whether (s1, id1) ranks below (s2, id2): lower score, or equal score and newer posting.
+        private static boolean worse(double s1, int id1, double s2, int id2) {
+            return s1 < s2 || (s1 == s2 && id1 > id2);
+        }
+
+        void offer(int jobid, double score) {
+            if (count < limit) {
+                int i = count++;
+                while (i > 0) {
+                    int parent = (i - 1) / 2;
+                    if (!worse(score, jobid, scores[parent], ids[parent])) {
+                        break;
+                    }
+                    scores[i] = scores[parent];
+                    ids[i] = ids[parent];
+                    i = parent;
+                }
+                scores[i] = score;
+                ids[i] = jobid;
+            } else if (worse(scores[0], ids[0], score, jobid)) {
+                siftDown(score, jobid);
+            }
+        }
+
+        private void siftDown(double score, int jobid) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= count) {
+                    break;
+                }
+                if (child + 1 < count && worse(scores[child + 1], ids[child + 1], scores[child], ids[child])) {
+                    child++;
+                }
+                if (!worse(scores[child], ids[child], score, jobid)) {
+                    break;
+                }
+                scores[i] = scores[child];
+                ids[i] = ids[child];
+                i = child;
+            }
+            scores[i] = score;
+            ids[i] = jobid;
+        }
+
+        TopN merge(TopN other) {
+            for (int i = 0; i < other.count; i++) {
+                offer(other.ids[i], other.scores[i]);
+            }
+            return this;
+        }
+
+        List<PostingMatch> toList() {
+            List<PostingMatch> matches = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                matches.add(new PostingMatch(ids[i], scores[i]));
+            }
+            matches.sort(Comparator.comparingDouble(PostingMatch::getScore).reversed()
+                    .thenComparingInt(PostingMatch::getJobid));
+            return matches;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ta_ms.matching;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// What a student brings, as posted to /api/jobpostings/match.
+public class StudentProfile {
+
+    // Free text per entry; entries may also be comma-separated, like JobPosting.skills.
+    private List<String> skills = new ArrayList<>();
+
+    // Course numbers, e.g. "CS1341".
+    private List<String> completedCourses = new ArrayList<>();
+
+    // Freshman, Sophomore, Junior or Senior.
+    private String standing;
+
+    public StudentProfile() {
+    }
+
+    public StudentProfile(List<String> skills, List<String> completedCourses, String standing) {
+        this.skills = skills;
+        this.completedCourses = completedCourses;
+        this.standing = standing;
+    }
+
+    public List<String> getSkills() {
+        return skills;
+    }
+
+    public void setSkills(List<String> skills) {
+        this.skills = skills;
+    }
+
+    public List<String> getCompletedCourses() {
+        return completedCourses;
+    }
+
+    public void setCompletedCourses(List<String> completedCourses) {
+        this.completedCourses = completedCourses;
+    }
+
+    public String getStanding() {
+        return standing;
+    }
+
+    public void setStanding(String standing) {
+        this.standing = standing;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.ta_ms.repositories;
 
 import com.example.ta_ms.entities.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 
 public interface CourseRepository extends JpaRepository<Course, String> {
@@ -9,4 +10,11 @@ public interface CourseRepository extends JpaRepository<Course, String> {
     List<Course> findByCourseNameContainingIgnoreCase(String courseName);
 
     List<Course> findByCourseNumberContainingIgnoreCase(String courseNumber);
+
+    // Range scan on the change_version index.
+    List<Course> findByChangeVersionGreaterThanOrderByChangeVersion(long version);
+
+    // (courseNumber, courseName) rows for building the search index.
+    @Query("select c.courseNumber, c.courseName from Course c")
+    List<Object[]> findAllNumbersAndNames();
 }
@@ -0,0 +1,13 @@
+package com.example.ta_ms.repositories;
+
+import com.example.ta_ms.entities.DeletedJobPosting;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface DeletedJobPostingRepository extends JpaRepository<DeletedJobPosting, Integer> {
+
+    @Query("select d.jobid from DeletedJobPosting d where d.changeVersion > :version order by d.changeVersion")
+    List<Integer> findJobidsChangedAfter(long version);
+}
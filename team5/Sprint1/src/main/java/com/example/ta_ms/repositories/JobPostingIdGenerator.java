@@ -0,0 +1,40 @@
+package com.example.ta_ms.repositories;
+
+import com.example.ta_ms.entities.JobPosting;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the job posting ID pool ahead of existing rows. Postings created
+ * while the table used AUTO_INCREMENT already hold low IDs, and the
+ * generator table would otherwise start handing those out again.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class JobPostingIdGenerator {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void catchUp() {
+        Long maxJobid = jdbcTemplate.queryForObject("select coalesce(max(jobid), 0) from job_postings", Long.class);
+        if (maxJobid == null || maxJobid == 0) {
+            return;
+        }
+        // A whole pool past the highest ID, whichever end of the pool the optimizer starts from.
+        long next = maxJobid + JobPosting.ID_ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update("update id_generators set next_val = ? where name = ? and next_val < ?",
+                next, "job_postings", next);
+        if (updated == 0) {
+            Integer rows = jdbcTemplate.queryForObject("select count(*) from id_generators where name = ?",
+                    Integer.class, "job_postings");
+            if (rows == null || rows == 0) {
+                jdbcTemplate.update("insert into id_generators (name, next_val) values (?, ?)", "job_postings", next);
+            }
+        }
+    }
+}
@@ -1,7 +1,47 @@
 package com.example.ta_ms.repositories;
 
 import com.example.ta_ms.entities.JobPosting;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
-public interface JobPostingRepository extends JpaRepository<JobPosting, Integer> {
+import java.util.Collection;
+import java.util.List;
+
+public interface JobPostingRepository extends JpaRepository<JobPosting, Integer>, JpaSpecificationExecutor<JobPosting>,
+        JobPostingRepositoryCustom {
+
+    // Loads the associations in the same statement instead of one query per posting.
+    @Override
+    @EntityGraph(JobPosting.WITH_ASSOCIATIONS)
+    List<JobPosting> findAll();
+
+    // (jobid, skills, facultyName, course number) rows for building the search index.
+    @Query("select p.jobid, p.skills, p.facultyName, p.course.courseNumber from JobPosting p")
+    List<Object[]> findAllSearchFields();
+
+    // (jobid, standing) rows for the facet bitmaps.
+    @Query("select p.jobid, s from JobPosting p join p.standings s")
+    List<Object[]> findAllStandings();
+
+    // A bulk delete: deleting the entity would cascade to its course, which other postings share.
+    // Hibernate clears the standings and required course rows first.
+    @Modifying
+    @Query("delete from JobPosting p where p.jobid = :jobid")
+    int deleteByJobid(int jobid);
+
+    // (jobid, required course number) rows for the matching feature vectors.
+    @Query("select p.jobid, c.courseNumber from JobPosting p join p.requiredCourses c")
+    List<Object[]> findAllRequiredCourseNumbers();
+
+    // Postings that embed the course in their JSON, as their course or a required one.
+    @Query("select distinct p.jobid from JobPosting p left join p.requiredCourses c"
+            + " where p.course.courseNumber = :courseNumber or c.courseNumber = :courseNumber")
+    List<Integer> findJobidsByCourseNumber(String courseNumber);
+
+    @Modifying
+    @Query("update JobPosting p set p.changeVersion = :version where p.jobid in :jobids")
+    int updateChangeVersion(Collection<Integer> jobids, long version);
 }
@@ -0,0 +1,13 @@
+package com.example.ta_ms.repositories;
+
+import com.example.ta_ms.entities.JobPosting;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+public interface JobPostingRepositoryCustom {
+
+    // A page of postings with their course, required courses and standings, in a
+    // fixed number of statements however large the page is.
+    Page<JobPosting> findPageWithAssociations(Specification<JobPosting> specification, Pageable pageable);
+}
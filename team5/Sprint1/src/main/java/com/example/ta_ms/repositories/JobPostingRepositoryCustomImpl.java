@@ -0,0 +1,73 @@
+package com.example.ta_ms.repositories;
+
+import com.example.ta_ms.entities.JobPosting;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.*;
+
+public class JobPostingRepositoryCustomImpl implements JobPostingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Pages over IDs first: fetch-joining collections in the paged query itself
+    // would make Hibernate page in memory. The IDs are then loaded with the
+    // entity graph in one statement, plus a count query when needed.
+    @Override
+    public Page<JobPosting> findPageWithAssociations(Specification<JobPosting> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Integer> idQuery = cb.createQuery(Integer.class);
+        Root<JobPosting> root = idQuery.from(JobPosting.class);
+        idQuery.select(root.get("jobid"));
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, idQuery, cb);
+        if (predicate != null) {
+            idQuery.where(predicate);
+        }
+        idQuery.orderBy(QueryUtils.toOrders(pageable.getSortOr(Sort.by("jobid")), root, cb));
+        TypedQuery<Integer> ids = entityManager.createQuery(idQuery);
+        if (pageable.isPaged()) {
+            ids.setFirstResult((int) pageable.getOffset());
+            ids.setMaxResults(pageable.getPageSize());
+        }
+        List<Integer> jobids = ids.getResultList();
+
+        List<JobPosting> content = new ArrayList<>(jobids.size());
+        if (!jobids.isEmpty()) {
+            Map<Integer, JobPosting> loaded = new HashMap<>();
+            entityManager.createQuery("select p from JobPosting p where p.jobid in :ids", JobPosting.class)
+                    .setParameter("ids", jobids)
+                    .setHint("jakarta.persistence.fetchgraph", entityManager.getEntityGraph(JobPosting.WITH_ASSOCIATIONS))
+                    .getResultList()
+                    .forEach(posting -> loaded.put(posting.getJobid(), posting));
+            for (Integer jobid : jobids) {
+                content.add(loaded.get(jobid));
+            }
+        }
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+    }
+
+    private long count(Specification<JobPosting> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<JobPosting> root = countQuery.from(JobPosting.class);
+        countQuery.select(cb.count(root));
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, countQuery, cb);
+        if (predicate != null) {
+            countQuery.where(predicate);
+        }
+        return entityManager.createQuery(countQuery).getSingleResult();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.ta_ms.repositories;
+
+import com.example.ta_ms.entities.JobPosting;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Subquery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+// Database-side predicates for the job posting filters. A null or blank value means "no filter".
+public final class JobPostingSpecifications {
+
+    private JobPostingSpecifications() {
+    }
+
+    public static Specification<JobPosting> skillContains(String skill) {
+        return (root, query, cb) -> isBlank(skill) ? null : contains(cb, root.get("skills"), skill);
+    }
+
+    public static Specification<JobPosting> instructorContains(String instructorName) {
+        return (root, query, cb) -> isBlank(instructorName) ? null : contains(cb, root.get("facultyName"), instructorName);
+    }
+
+    public static Specification<JobPosting> courseNumberContains(String courseNumber) {
+        return (root, query, cb) -> isBlank(courseNumber) ? null
+                : contains(cb, root.get("course").get("courseNumber"), courseNumber);
+    }
+
+    public static Specification<JobPosting> courseNameContains(String courseName) {
+        return (root, query, cb) -> isBlank(courseName) ? null
+                : contains(cb, root.join("course").get("courseName"), courseName);
+    }
+
+    // Any of the standings. EXISTS rather than a join, so a posting is never returned twice
+    // and paging stays exact; the MySQL collation already compares case-insensitively.
+    // An empty collection means no filter.
+    public static Specification<JobPosting> hasAnyStanding(Collection<String> standings) {
+        return (root, query, cb) -> {
+            if (standings.isEmpty()) {
+                return null;
+            }
+            Subquery<Integer> match = query.subquery(Integer.class);
+            Root<JobPosting> posting = match.from(JobPosting.class);
+            Join<JobPosting, String> standing = posting.join("standings");
+            match.select(posting.get("jobid"))
+                    .where(cb.equal(posting.get("jobid"), root.get("jobid")), standing.in(standings));
+            return cb.exists(match);
+        };
+    }
+
+    public static Specification<JobPosting> facultyNameIn(Collection<String> facultyNames) {
+        return (root, query, cb) -> facultyNames.isEmpty() ? null : root.get("facultyName").in(facultyNames);
+    }
+
+    public static Specification<JobPosting> courseNumberIn(Collection<String> courseNumbers) {
+        return (root, query, cb) -> courseNumbers.isEmpty() ? null
+                : root.get("course").get("courseNumber").in(courseNumbers);
+    }
+
+    public static Specification<JobPosting> idIn(int[] jobids) {
+        return (root, query, cb) -> {
+            CriteriaBuilder.In<Integer> in = cb.in(root.get("jobid"));
+            for (int jobid : jobids) {
+                in.value(jobid);
+            }
+            return in;
+        };
+    }
+
+    // Written after the given version; a range on the change_version index.
+    public static Specification<JobPosting> changedAfter(long version) {
+        return (root, query, cb) -> cb.greaterThan(root.get("changeVersion"), version);
+    }
+
+    // The four substring filters combined with AND.
+    public static Specification<JobPosting> matching(String courseNumber, String courseName, String skill,
+                                                     String instructorName) {
+        return Specification.where(courseNumberContains(courseNumber))
+                .and(courseNameContains(courseName))
+                .and(skillContains(skill))
+                .and(instructorContains(instructorName));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    // Case-insensitive substring match with LIKE wildcards in the input escaped.
+    private static Predicate contains(CriteriaBuilder cb, Expression<String> field, String value) {
+        String escaped = value.trim().toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return cb.like(cb.lower(field), "%" + escaped + "%", '\\');
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.ta_ms.search;
+
+import java.util.*;
+
+/**
+ * One bitmap of posting IDs per facet value. Values are matched
+ * case-insensitively, as MySQL compares them; each keeps the spelling it was
+ * first indexed with for display. Not thread-safe; {@link JobPostingSearchIndex}
+ * guards it with its lock.
+ */
+class FacetIndex {
+
+    private static class Value {
+        final String facet;
+        final String key;
+        final String label;
+        final RoaringBitmap postings = new RoaringBitmap();
+
+        Value(String facet, String key, String label) {
+            this.facet = facet;
+            this.key = key;
+            this.label = label;
+        }
+    }
+
+    private final Map<String, Map<String, Value>> facets = new LinkedHashMap<>();
+    // The values each posting was indexed under, so remove only touches their bitmaps.
+    private final Map<Integer, List<Value>> valuesOf = new HashMap<>();
+
+    FacetIndex(String... names) {
+        for (String name : names) {
+            facets.put(name, new HashMap<>());
+        }
+    }
+
+    Set<String> names() {
+        return facets.keySet();
+    }
+
+    // Call remove(id) first when the posting was indexed before.
+    void add(int id, String facet, Collection<String> values) {
+        List<Value> indexed = valuesOf.computeIfAbsent(id, k -> new ArrayList<>());
+        Map<String, Value> byKey = facets.get(facet);
+        for (String value : values) {
+            if (value != null && !value.trim().isEmpty()) {
+                Value match = byKey.computeIfAbsent(key(value), k -> new Value(facet, k, value.trim()));
+                if (!match.postings.contains(id)) {
+                    match.postings.add(id);
+                    indexed.add(match);
+                }
+            }
+        }
+    }
+
+    void remove(int id) {
+        List<Value> indexed = valuesOf.remove(id);
+        if (indexed == null) {
+            return;
+        }
+        for (Value value : indexed) {
+            value.postings.remove(id);
+            if (value.postings.isEmpty()) {
+                facets.get(value.facet).remove(value.key);
+            }
+        }
+    }
+
+    // Postings with any of the values, or null when no value is given. The
+    // result may be the index's own bitmap, so callers must not modify it.
+    RoaringBitmap select(String facet, List<String> values) {
+        if (values.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap selected = null;
+        for (String value : values) {
+            Value match = facets.get(facet).get(key(value));
+            if (match != null) {
+                selected = selected == null ? match.postings : RoaringBitmap.or(selected, match.postings);
+            }
+        }
+        return selected == null ? new RoaringBitmap() : selected;
+    }
+
+    // Postings per value within filter (null for all postings), largest first; values with none are left out.
+    Map<String, Integer> counts(String facet, RoaringBitmap filter) {
+        List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+        for (Value value : facets.get(facet).values()) {
+            int count = filter == null ? value.postings.getCardinality()
+                    : RoaringBitmap.andCardinality(filter, value.postings);
+            if (count > 0) {
+                counts.add(Map.entry(value.label, count));
+            }
+        }
+        counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        counts.forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
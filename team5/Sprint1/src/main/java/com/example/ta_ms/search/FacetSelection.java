@@ -0,0 +1,66 @@
+package com.example.ta_ms.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exact facet values chosen in the filter UI. Values of one facet are
+ * combined with OR, the facets themselves with AND. An empty list means the
+ * facet is not filtered.
+ */
+public class FacetSelection {
+
+    public static final FacetSelection NONE = new FacetSelection(null, null, null);
+
+    private final List<String> standings;
+    private final List<String> instructors;
+    private final List<String> courseNumbers;
+
+    public FacetSelection(List<String> standings, List<String> instructors, List<String> courseNumbers) {
+        this.standings = clean(standings);
+        this.instructors = clean(instructors);
+        this.courseNumbers = clean(courseNumbers);
+    }
+
+    public List<String> getStandings() {
+        return standings;
+    }
+
+    public List<String> getInstructors() {
+        return instructors;
+    }
+
+    public List<String> getCourseNumbers() {
+        return courseNumbers;
+    }
+
+    public List<String> get(String facet) {
+        switch (facet) {
+            case JobPostingSearchIndex.STANDING:
+                return standings;
+            case JobPostingSearchIndex.INSTRUCTOR:
+                return instructors;
+            case JobPostingSearchIndex.COURSE_NUMBER:
+                return courseNumbers;
+            default:
+                throw new IllegalArgumentException("Unknown facet " + facet);
+        }
+    }
+
+    public boolean isEmpty() {
+        return standings.isEmpty() && instructors.isEmpty() && courseNumbers.isEmpty();
+    }
+
+    // Drops blank values, so an empty "standing=" parameter means no filter.
+    private static List<String> clean(List<String> values) {
+        List<String> cleaned = new ArrayList<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.trim().isEmpty()) {
+                    cleaned.add(value.trim());
+                }
+            }
+        }
+        return List.copyOf(cleaned);
+    }
+}
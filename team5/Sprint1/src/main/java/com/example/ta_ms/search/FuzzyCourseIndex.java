@@ -0,0 +1,326 @@
+package com.example.ta_ms.search;
+
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.repositories.CourseRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant course search. A course's terms are its number (letters and
+ * digits only, e.g. "cs1341") and the words of its name. Every term is stored
+ * under each string left after deleting up to two of its characters, a SymSpell
+ * deletion dictionary; a query word is looked up under its own deletions and
+ * the candidates are checked with the real edit distance. A lookup is a few
+ * dozen hash probes however large the catalog is. Loaded at startup and
+ * updated whenever a course is saved.
+ */
+@Component
+public class FuzzyCourseIndex {
+
+    // Most edits allowed for a word. Words with digits get one: course numbers are
+    // dense, and two edits away from one number are hundreds of others.
+    static final int MAX_DISTANCE = 2;
+    static final int MAX_NUMBER_DISTANCE = 1;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    // Courses get dense int IDs: lower-case number -> ID, and per ID the number
+    // as stored and its terms (to unindex on rename).
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> numbers = new ArrayList<>();
+    private final List<Set<String>> termsOf = new ArrayList<>();
+
+    // Term -> IDs of the courses that have it. A term that no course uses any
+    // more keeps an empty list, so its deletions below need no cleanup.
+    private final Map<String, TrigramIndex.IdList> courses = new HashMap<>();
+    private final Map<String, List<String>> deletions = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    void load() {
+        for (Object[] row : courseRepository.findAllNumbersAndNames()) {
+            put((String) row[0], (String) row[1]);
+        }
+    }
+
+    // Rebuilds the index from the database, e.g. after rows changed outside the application.
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            ids.clear();
+            numbers.clear();
+            termsOf.clear();
+            courses.clear();
+            deletions.clear();
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Adds a course, or replaces the terms of one indexed before.
+    public void index(Course course) {
+        put(course.getCourseNumber(), course.getCourseName());
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return numbers.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Numbers of the courses matching the query best, best first: most query words
+    // matched, then fewest edits, then number order. Words of up to two characters
+    // must match exactly, up to five may have one edit, longer ones two; see allowedDistance.
+    public List<String> search(String query, int limit) {
+        List<String> words = List.copyOf(new LinkedHashSet<>(words(query)));
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Scores scores = new Scores(numbers.size());
+            for (int w = 0; w < words.size(); w++) {
+                List<List<String>> terms = matches(words.get(w));
+                for (int distance = 0; distance < terms.size(); distance++) {
+                    for (String term : terms.get(distance)) {
+                        TrigramIndex.IdList list = courses.get(term);
+                        for (int i = 0; i < list.size; i++) {
+                            scores.wordMatched(list.ids[i], w, distance);
+                        }
+                    }
+                }
+            }
+            if (words.size() > 1) {
+                // "CS 1341" or "cs-1341" is one course number; it counts as matching every word.
+                List<List<String>> terms = matches(String.join("", words));
+                for (int distance = 0; distance < terms.size(); distance++) {
+                    for (String term : terms.get(distance)) {
+                        TrigramIndex.IdList list = courses.get(term);
+                        for (int i = 0; i < list.size; i++) {
+                            scores.allMatched(list.ids[i], words.size(), distance);
+                        }
+                    }
+                }
+            }
+            return scores.best(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static int allowedDistance(String word) {
+        int byLength = word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : MAX_DISTANCE;
+        return hasDigit(word) ? Math.min(byLength, MAX_NUMBER_DISTANCE) : byLength;
+    }
+
+    private static boolean hasDigit(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (Character.isDigit(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Terms within the allowed distance of the word, by distance.
+    private List<List<String>> matches(String word) {
+        int allowed = allowedDistance(word);
+        List<List<String>> byDistance = new ArrayList<>(allowed + 1);
+        for (int distance = 0; distance <= allowed; distance++) {
+            byDistance.add(new ArrayList<>());
+        }
+        Set<String> checked = new HashSet<>();
+        for (String deletion : deletionsOf(word, allowed)) {
+            for (String term : deletions.getOrDefault(deletion, List.of())) {
+                if (Math.abs(term.length() - word.length()) > allowed || !checked.add(term)) {
+                    continue;
+                }
+                int distance = distance(word, term, allowed);
+                if (distance <= allowed) {
+                    byDistance.get(distance).add(term);
+                }
+            }
+        }
+        return byDistance;
+    }
+
+    // Words matched and edits per course ID, for one query.
+    private class Scores {
+        final int[] matched;
+        final int[] edits;
+        // Last word each course was matched for, plus one; a course counts once per word.
+        final int[] lastWord;
+        final List<Integer> touched = new ArrayList<>();
+
+        Scores(int courseCount) {
+            matched = new int[courseCount];
+            edits = new int[courseCount];
+            lastWord = new int[courseCount];
+        }
+
+        // Called in increasing distance, so the first match of a word is its best.
+        void wordMatched(int id, int word, int distance) {
+            if (lastWord[id] == word + 1) {
+                return;
+            }
+            lastWord[id] = word + 1;
+            if (matched[id] == 0) {
+                touched.add(id);
+            }
+            matched[id]++;
+            edits[id] += distance;
+        }
+
+        void allMatched(int id, int words, int distance) {
+            if (matched[id] == 0) {
+                touched.add(id);
+            }
+            if (matched[id] < words || distance < edits[id]) {
+                matched[id] = words;
+                edits[id] = distance;
+            }
+        }
+
+        boolean better(int a, int b) {
+            if (matched[a] != matched[b]) {
+                return matched[a] > matched[b];
+            }
+            if (edits[a] != edits[b]) {
+                return edits[a] < edits[b];
+            }
+            return numbers.get(a).compareToIgnoreCase(numbers.get(b)) < 0;
+        }
+
+        List<String> best(int limit) {
+            // Bounded heap with the worst kept course on top.
+            PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, (a, b) -> a.equals(b) ? 0 : better(a, b) ? 1 : -1);
+            for (int id : touched) {
+                if (heap.size() < limit) {
+                    heap.add(id);
+                } else if (better(id, heap.peek())) {
+                    heap.poll();
+                    heap.add(id);
+                }
+            }
+            List<Integer> kept = new ArrayList<>(heap);
+            kept.sort((a, b) -> a.equals(b) ? 0 : better(a, b) ? -1 : 1);
+            return kept.stream().map(numbers::get).toList();
+        }
+    }
+
+    private void put(String courseNumber, String courseName) {
+        if (courseNumber == null) {
+            return;
+        }
+        Set<String> terms = new HashSet<>(words(courseName));
+        String number = String.join("", words(courseNumber));
+        if (!number.isEmpty()) {
+            terms.add(number);
+        }
+        lock.writeLock().lock();
+        try {
+            Integer id = ids.get(key(courseNumber));
+            if (id == null) {
+                id = numbers.size();
+                ids.put(key(courseNumber), id);
+                numbers.add(courseNumber);
+                termsOf.add(Set.of());
+            }
+            for (String term : termsOf.get(id)) {
+                courses.get(term).remove(id);
+            }
+            termsOf.set(id, terms);
+            for (String term : terms) {
+                courses.computeIfAbsent(term, t -> {
+                    // As many deletions as any query word that may match the term is allowed.
+                    for (String deletion : deletionsOf(t, hasDigit(t) ? MAX_NUMBER_DISTANCE : MAX_DISTANCE)) {
+                        deletions.computeIfAbsent(deletion, d -> new ArrayList<>(1)).add(t);
+                    }
+                    return new TrigramIndex.IdList();
+                }).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The word itself and every string left after deleting up to distance characters.
+    static Set<String> deletionsOf(String word, int distance) {
+        Set<String> all = new HashSet<>();
+        all.add(word);
+        List<String> frontier = List.of(word);
+        for (int d = 0; d < distance; d++) {
+            List<String> next = new ArrayList<>();
+            for (String s : frontier) {
+                for (int i = 0; i < s.length(); i++) {
+                    String deleted = s.substring(0, i) + s.substring(i + 1);
+                    if (all.add(deleted)) {
+                        next.add(deleted);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return all;
+    }
+
+    // Edit distance counting a swap of neighbouring characters as one edit (optimal
+    // string alignment); anything above max is reported as max + 1.
+    static int distance(String a, String b, int max) {
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    // Lower-case runs of letters and digits.
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text != null) {
+            for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                }
+            }
+        }
+        return words;
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
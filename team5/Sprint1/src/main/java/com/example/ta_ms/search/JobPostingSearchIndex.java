@@ -0,0 +1,258 @@
+package com.example.ta_ms.search;
+
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.JobPosting;
+import com.example.ta_ms.repositories.CourseRepository;
+import com.example.ta_ms.repositories.JobPostingRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory substring search over job postings: trigram indexes on skills and
+ * faculty name per posting, and on course number and name per course. Course
+ * matches are mapped to postings through the posting's primary course.
+ * Exact facets (standing, instructor, course number) are kept as one bitmap
+ * per value. Loaded from the database at startup and updated on every save.
+ */
+@Component
+public class JobPostingSearchIndex {
+
+    // Facet names, as used by FacetSelection and in facet counts.
+    public static final String STANDING = "standing";
+    public static final String INSTRUCTOR = "instructor";
+    public static final String COURSE_NUMBER = "courseNumber";
+
+    @Autowired
+    private JobPostingRepository jobPostingRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    private TrigramIndex skills = new TrigramIndex();
+    private TrigramIndex facultyNames = new TrigramIndex();
+    private TrigramIndex courseNumbers = new TrigramIndex();
+    private TrigramIndex courseNames = new TrigramIndex();
+
+    // Courses get dense int IDs so they fit the trigram index.
+    private final Map<String, Integer> courseIds = new HashMap<>();
+    private final List<String> courseNumberById = new ArrayList<>();
+    private final Map<Integer, String> postingCourse = new HashMap<>();
+    private final Map<String, Set<Integer>> coursePostings = new HashMap<>();
+
+    private FacetIndex facets = new FacetIndex(STANDING, INSTRUCTOR, COURSE_NUMBER);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    void load() {
+        for (Object[] row : courseRepository.findAllNumbersAndNames()) {
+            putCourse((String) row[0], (String) row[1]);
+        }
+        Map<Integer, List<String>> standings = new HashMap<>();
+        for (Object[] row : jobPostingRepository.findAllStandings()) {
+            standings.computeIfAbsent((Integer) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        for (Object[] row : jobPostingRepository.findAllSearchFields()) {
+            putPosting((Integer) row[0], (String) row[1], (String) row[2], (String) row[3],
+                    standings.getOrDefault((Integer) row[0], List.of()));
+        }
+    }
+
+    // Rebuilds the index from the database, e.g. after rows changed outside the application.
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            skills = new TrigramIndex();
+            facultyNames = new TrigramIndex();
+            courseNumbers = new TrigramIndex();
+            courseNames = new TrigramIndex();
+            courseIds.clear();
+            courseNumberById.clear();
+            postingCourse.clear();
+            coursePostings.clear();
+            facets = new FacetIndex(STANDING, INSTRUCTOR, COURSE_NUMBER);
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Course course) {
+        putCourse(course.getCourseNumber(), course.getCourseName());
+    }
+
+    // Also indexes the posting's course, which may have been created along with it.
+    public void index(JobPosting posting) {
+        Course course = posting.getCourse();
+        if (course != null) {
+            index(course);
+        }
+        putPosting(posting.getJobid(), posting.getSkills(), posting.getFacultyName(),
+                course == null ? null : course.getCourseNumber(),
+                posting.getStandings() == null ? List.of() : posting.getStandings());
+    }
+
+    public void remove(int jobid) {
+        lock.writeLock().lock();
+        try {
+            skills.remove(jobid);
+            facultyNames.remove(jobid);
+            unlinkCourse(jobid);
+            facets.remove(jobid);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Sorted IDs of the postings matching every given filter (case-insensitive
+    // substring, plus the selected facet values), or null when no filter is given.
+    public int[] findPostings(String courseNumber, String courseName, String skill, String instructorName,
+                              FacetSelection selection) {
+        lock.readLock().lock();
+        try {
+            int[] matches = substringMatches(courseNumber, courseName, skill, instructorName);
+            RoaringBitmap selected = select(selection, null);
+            if (selected == null) {
+                return matches;
+            }
+            if (matches == null) {
+                return selected.toArray();
+            }
+            int[] result = new int[matches.length];
+            int n = 0;
+            for (int jobid : matches) {
+                if (selected.contains(jobid)) {
+                    result[n++] = jobid;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Postings per value of each facet among the postings matching the filter.
+    // A facet's own selection is left out of its counts, so the UI can show how
+    // many postings each further value would add.
+    public Map<String, Map<String, Integer>> facetCounts(String courseNumber, String courseName, String skill,
+                                                         String instructorName, FacetSelection selection) {
+        lock.readLock().lock();
+        try {
+            int[] matches = substringMatches(courseNumber, courseName, skill, instructorName);
+            RoaringBitmap base = matches == null ? null : RoaringBitmap.of(matches);
+            Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+            for (String facet : facets.names()) {
+                counts.put(facet, facets.counts(facet, and(base, select(selection, facet))));
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // AND of the selected values of every facet but excluded, or null when none is selected.
+    private RoaringBitmap select(FacetSelection selection, String excluded) {
+        RoaringBitmap result = null;
+        for (String facet : facets.names()) {
+            if (!facet.equals(excluded)) {
+                result = and(result, facets.select(facet, selection.get(facet)));
+            }
+        }
+        return result;
+    }
+
+    private int[] substringMatches(String courseNumber, String courseName, String skill, String instructorName) {
+        int[] result = null;
+        if (!isBlank(skill)) {
+            result = and(result, skills.search(skill.trim()));
+        }
+        if (!isBlank(instructorName)) {
+            result = and(result, facultyNames.search(instructorName.trim()));
+        }
+        if (!isBlank(courseNumber) || !isBlank(courseName)) {
+            int[] courses = null;
+            if (!isBlank(courseNumber)) {
+                courses = and(courses, courseNumbers.search(courseNumber.trim()));
+            }
+            if (!isBlank(courseName)) {
+                courses = and(courses, courseNames.search(courseName.trim()));
+            }
+            result = and(result, postingsOf(courses));
+        }
+        return result;
+    }
+
+    private void putCourse(String courseNumber, String courseName) {
+        if (courseNumber == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer id = courseIds.get(courseNumber);
+            if (id == null) {
+                id = courseNumberById.size();
+                courseIds.put(courseNumber, id);
+                courseNumberById.add(courseNumber);
+            }
+            courseNumbers.put(id, courseNumber);
+            courseNames.put(id, courseName);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putPosting(int jobid, String skillText, String facultyName, String courseNumber,
+                            Collection<String> standings) {
+        lock.writeLock().lock();
+        try {
+            skills.put(jobid, skillText);
+            facultyNames.put(jobid, facultyName);
+            unlinkCourse(jobid);
+            if (courseNumber != null) {
+                postingCourse.put(jobid, courseNumber);
+                coursePostings.computeIfAbsent(courseNumber, c -> new HashSet<>()).add(jobid);
+            }
+            facets.remove(jobid);
+            facets.add(jobid, STANDING, standings);
+            facets.add(jobid, INSTRUCTOR, Collections.singletonList(facultyName));
+            facets.add(jobid, COURSE_NUMBER, Collections.singletonList(courseNumber));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlinkCourse(int jobid) {
+        String previous = postingCourse.remove(jobid);
+        if (previous != null) {
+            coursePostings.get(previous).remove(jobid);
+        }
+    }
+
+    private int[] postingsOf(int[] courses) {
+        List<Integer> postings = new ArrayList<>();
+        for (int courseId : courses) {
+            postings.addAll(coursePostings.getOrDefault(courseNumberById.get(courseId), Set.of()));
+        }
+        return postings.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private static RoaringBitmap and(RoaringBitmap current, RoaringBitmap next) {
+        if (current == null || next == null) {
+            return current == null ? next : current;
+        }
+        return RoaringBitmap.and(current, next);
+    }
+
+    private static int[] and(int[] current, int[] next) {
+        return current == null ? next : TrigramIndex.intersect(current, current.length, next, next.length);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
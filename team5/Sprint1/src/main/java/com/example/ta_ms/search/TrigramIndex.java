@@ -0,0 +1,142 @@
+package com.example.ta_ms.search;
+
+import java.util.*;
+
+/**
+ * Case-insensitive substring index over one text field. Every trigram (three
+ * consecutive characters) of a document's text maps to the sorted IDs of the
+ * documents containing it. A query of three or more characters intersects the
+ * lists of its trigrams and only checks the few surviving candidates, instead
+ * of scanning every document.
+ *
+ * <p>Not thread-safe; callers guard it.
+ */
+public class TrigramIndex {
+
+    // Lower-cased text per document, used to verify candidates and to unindex.
+    private final Map<Integer, String> texts = new HashMap<>();
+    private final Map<Long, IdList> trigrams = new HashMap<>();
+
+    public int size() {
+        return texts.size();
+    }
+
+    // Adds or replaces the text of a document; null removes it.
+    public void put(int id, String text) {
+        remove(id);
+        if (text == null) {
+            return;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        texts.put(id, lower);
+        for (long trigram : trigramsOf(lower)) {
+            trigrams.computeIfAbsent(trigram, t -> new IdList()).add(id);
+        }
+    }
+
+    public void remove(int id) {
+        String old = texts.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (long trigram : trigramsOf(old)) {
+            IdList ids = trigrams.get(trigram);
+            ids.remove(id);
+            if (ids.size == 0) {
+                trigrams.remove(trigram);
+            }
+        }
+    }
+
+    // Sorted IDs of the documents whose text contains query, ignoring case.
+    public int[] search(String query) {
+        String q = query.toLowerCase(Locale.ROOT);
+        if (q.length() < 3) {
+            // Too short for a trigram; a scan of the in-memory texts is still cheap.
+            return texts.entrySet().stream()
+                    .filter(e -> e.getValue().contains(q))
+                    .mapToInt(Map.Entry::getKey)
+                    .sorted()
+                    .toArray();
+        }
+
+        List<IdList> lists = new ArrayList<>();
+        for (long trigram : trigramsOf(q)) {
+            IdList ids = trigrams.get(trigram);
+            if (ids == null) {
+                return new int[0];
+            }
+            lists.add(ids);
+        }
+        // Smallest list first keeps every intersection step small.
+        lists.sort(Comparator.comparingInt(ids -> ids.size));
+        int[] candidates = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, candidates.length, lists.get(i).ids, lists.get(i).size);
+        }
+
+        // Trigrams can all match without the query occurring as one run.
+        int matches = 0;
+        for (int id : candidates) {
+            if (texts.get(id).contains(q)) {
+                candidates[matches++] = id;
+            }
+        }
+        return Arrays.copyOf(candidates, matches);
+    }
+
+    // Intersection of two sorted ID arrays.
+    public static int[] intersect(int[] a, int aLength, int[] b, int bLength) {
+        int[] result = new int[Math.min(aLength, bLength)];
+        int n = 0;
+        for (int i = 0, j = 0; i < aLength && j < bLength; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static Set<Long> trigramsOf(String text) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return result;
+    }
+
+    // Sorted, growable list of document IDs. IDs mostly arrive in increasing
+    // order, so adding is usually an append. Also used by FuzzyCourseIndex.
+    static class IdList {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            int at = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0 && at < size) {
+                return;
+            }
+            int insert = at < 0 ? -at - 1 : at;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+            ids[insert] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+    }
+}
@@ -1,10 +1,23 @@
 package com.example.ta_ms.services;
 
+import com.example.ta_ms.cache.CourseCache;
 import com.example.ta_ms.entities.Course;
 import com.example.ta_ms.repositories.CourseRepository;
+import com.example.ta_ms.repositories.JobPostingRepository;
+import com.example.ta_ms.search.FuzzyCourseIndex;
+import com.example.ta_ms.search.JobPostingSearchIndex;
+import com.example.ta_ms.sync.ChangeVersions;
+import com.example.ta_ms.sync.Changes;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Service
 public class CourseService {
@@ -12,15 +25,117 @@ public class CourseService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private JobPostingRepository jobPostingRepository;
+
+    @Autowired
+    private JobPostingSearchIndex searchIndex;
+
+    @Autowired
+    private FuzzyCourseIndex fuzzyCourseIndex;
+
+    @Autowired
+    private CourseCache courseCache;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // All course writes go through here so the search indexes and cache stay in sync.
+    // Postings embed their courses, so the ones referring to this course get the
+    // same change version and are sent again by /api/jobpostings/changes.
+    public Course saveCourse(Course course) {
+        long version = changeVersions.next();
+        try {
+            course.setChangeVersion(version);
+            Course saved = transactionTemplate.execute(status -> {
+                List<Integer> referring = jobPostingRepository.findJobidsByCourseNumber(course.getCourseNumber());
+                if (!referring.isEmpty()) {
+                    jobPostingRepository.updateChangeVersion(referring, version);
+                }
+                return courseRepository.save(course);
+            });
+            searchIndex.index(saved);
+            fuzzyCourseIndex.index(saved);
+            courseCache.put(saved);
+            return saved;
+        } finally {
+            changeVersions.release(version);
+        }
+    }
+
+    // Courses to link postings to, by number as given, for a whole batch. Existing
+    // courses are found in the cache and linked by reference, without reading the
+    // table; missing ones are persisted, to be inserted in JDBC batches at flush.
+    // Existing courses keep their stored name and description. Must run inside the
+    // caller's transaction; afterwards findCourses returns the committed courses.
+    // Created courses get the caller's change version.
+    public Map<String, Course> findOrCreateCourses(Collection<Course> courses, long changeVersion) {
+        Map<String, Course> byNumber = new HashMap<>();
+        for (Course course : courses) {
+            byNumber.putIfAbsent(course.getCourseNumber(), course);
+        }
+        Map<String, Course> existing = courseCache.findAll(byNumber.keySet());
+        Map<String, Course> resolved = new HashMap<>();
+        for (Course course : byNumber.values()) {
+            Course cached = existing.get(course.getCourseNumber());
+            if (cached != null) {
+                resolved.put(course.getCourseNumber(), courseRepository.getReferenceById(cached.getCourseNumber()));
+            } else {
+                // persist rather than save: save would merge and select each course first.
+                Course created = new Course(course.getCourseNumber(), course.getCourseName(), course.getDescription());
+                created.setChangeVersion(changeVersion);
+                entityManager.persist(created);
+                resolved.put(created.getCourseNumber(), created);
+            }
+        }
+        return resolved;
+    }
+
+    // Read-only courses by number as given; numbers not cached yet are read through.
+    public Map<String, Course> findCourses(Collection<String> courseNumbers) {
+        return courseCache.findAll(courseNumbers);
+    }
+
     public List<Course> getAllCourses() {
-        return courseRepository.findAll();
+        return courseCache.all();
+    }
+
+    // Courses written after the given version. Courses are never deleted, since postings refer to them.
+    public Changes<Course, String> findChangesSince(long since) {
+        long version = changeVersions.current();
+        return new Changes<>(version, courseRepository.findByChangeVersionGreaterThanOrderByChangeVersion(since), List.of());
+    }
+
+    // The limit courses whose number or name words best match the query, allowing typos.
+    public List<Course> searchCourses(String query, int limit) {
+        List<String> courseNumbers = fuzzyCourseIndex.search(query, limit);
+        Map<String, Course> found = courseCache.findAll(courseNumbers);
+        return courseNumbers.stream().map(found::get).filter(Objects::nonNull).toList();
+    }
+
+    // Indexes courses created outside saveCourse, e.g. by an import, once committed.
+    public void indexCourses(Collection<Course> courses) {
+        for (Course course : courses) {
+            searchIndex.index(course);
+            fuzzyCourseIndex.index(course);
+        }
+    }
+
+    public List<Course> findCoursesByPrefix(String prefix) {
+        return courseCache.findByPrefix(prefix);
     }
 
     public List<Course> filterCoursesByName(String courseName) {
-        return courseRepository.findByCourseNameContainingIgnoreCase(courseName);
+        return courseCache.findByNameContaining(courseName);
     }
 
     public List<Course> filterCoursesByNumber(String courseNumber) {
-        return courseRepository.findByCourseNumberContainingIgnoreCase(courseNumber);
+        return courseCache.findByNumberContaining(courseNumber);
     }
 }
\ No newline at end of file
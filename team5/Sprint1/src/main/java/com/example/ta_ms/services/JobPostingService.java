@@ -1,67 +1,250 @@
 package com.example.ta_ms.services;
 
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.DeletedJobPosting;
 import com.example.ta_ms.entities.JobPosting;
+import com.example.ta_ms.matching.PostingMatch;
+import com.example.ta_ms.matching.PostingMatcher;
+import com.example.ta_ms.matching.StudentProfile;
+import com.example.ta_ms.repositories.DeletedJobPostingRepository;
 import com.example.ta_ms.repositories.JobPostingRepository;
+import com.example.ta_ms.repositories.JobPostingSpecifications;
+import com.example.ta_ms.search.FacetSelection;
+import com.example.ta_ms.search.JobPostingSearchIndex;
+import com.example.ta_ms.sync.ChangeVersions;
+import com.example.ta_ms.sync.Changes;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class JobPostingService {
 
+    // Above this many index matches the ID list is not worth sending to the database;
+    // the result is that large anyway, so the LIKE predicates cost about the same.
+    private static final int MAX_ID_FILTER = 1000;
+
     @Autowired
     private JobPostingRepository jobPostingRepository;
 
+    @Autowired
+    private DeletedJobPostingRepository deletedJobPostingRepository;
+
+    @Autowired
+    private JobPostingSearchIndex searchIndex;
+
+    @Autowired
+    private PostingMatcher postingMatcher;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private ChangeVersions changeVersions;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     public JobPosting saveJobPosting(JobPosting jobPosting) {
-        return jobPostingRepository.save(jobPosting);
+        long version = changeVersions.next();
+        try {
+            jobPosting.setChangeVersion(version);
+            JobPosting saved = jobPostingRepository.save(jobPosting);
+            searchIndex.index(saved);
+            postingMatcher.index(saved);
+            return saved;
+        } finally {
+            changeVersions.release(version);
+        }
     }
 
-    public List<JobPosting> getAllJobPostings() {
-        return jobPostingRepository.findAll();
+    // Saves many postings in one transaction. Referenced courses are resolved from
+    // the course cache (one query at most, for numbers it does not have) and
+    // missing ones are created; the postings, their required courses and
+    // standings are then inserted in JDBC batches. Each posting needs a course
+    // number, as do its required courses. Every posting is inserted as a new one,
+    // whatever jobid it carries.
+    public List<JobPosting> importJobPostings(List<JobPosting> postings) {
+        return saveWithCourses(postings, false);
     }
 
-    // Filters by skill, instructor name (facultyName), and standing (grade level)
-    public List<JobPosting> filterJobPostings(String skill, String instructorName, String standing) {
-        List<JobPosting> postings = jobPostingRepository.findAll();
-        return postings.stream().filter(posting -> {
-            boolean matches = true;
-            if (skill != null && !skill.isEmpty()) {
-                matches &= posting.getSkills() != null &&
-                        posting.getSkills().toLowerCase().contains(skill.toLowerCase());
-            }
-            if (instructorName != null && !instructorName.isEmpty()) {
-                matches &= posting.getFacultyName() != null &&
-                        posting.getFacultyName().toLowerCase().contains(instructorName.toLowerCase());
+    // Saves one posting with its courses resolved and created as importJobPostings
+    // does. A posting carrying the jobid of an existing one replaces it.
+    public JobPosting saveJobPostingWithCourses(JobPosting posting) {
+        return saveWithCourses(List.of(posting), true).get(0);
+    }
+
+    private List<JobPosting> saveWithCourses(List<JobPosting> postings, boolean keepIds) {
+        List<Course> referenced = new ArrayList<>();
+        List<String> courseNumbers = new ArrayList<>(postings.size());
+        List<Set<String>> requiredNumbers = new ArrayList<>(postings.size());
+        for (JobPosting posting : postings) {
+            if (posting.getCourse() == null || posting.getCourse().getCourseNumber() == null) {
+                throw new IllegalArgumentException("Every job posting needs a course number");
             }
-            if (standing != null && !standing.isEmpty()) {
-                matches &= posting.getStandings() != null &&
-                        posting.getStandings().stream().anyMatch(s -> s.equalsIgnoreCase(standing));
+            referenced.add(posting.getCourse());
+            courseNumbers.add(posting.getCourse().getCourseNumber());
+            Set<String> required = new LinkedHashSet<>();
+            if (posting.getRequiredCourses() != null) {
+                for (Course course : posting.getRequiredCourses()) {
+                    if (course.getCourseNumber() == null) {
+                        throw new IllegalArgumentException("Every required course needs a course number");
+                    }
+                    referenced.add(course);
+                    required.add(course.getCourseNumber());
+                }
             }
-            return matches;
-        }).collect(Collectors.toList());
+            requiredNumbers.add(required);
+        }
+
+        // The whole import is one write, with one change version.
+        long version = changeVersions.next();
+        try {
+            return insertImported(postings, referenced, courseNumbers, requiredNumbers, version, keepIds);
+        } finally {
+            changeVersions.release(version);
+        }
     }
 
-    // Additional filtering by course attributes (course number and/or course name)
-    public List<JobPosting> filterJobPostingsByCourse(String courseNumber, String courseName) {
-        List<JobPosting> postings = jobPostingRepository.findAll();
-        return postings.stream().filter(posting -> {
-            boolean matches = true;
-            if (courseNumber != null && !courseNumber.isEmpty()) {
-                if (posting.getCourse() == null) {
-                    System.err.println("Error: JobPosting with ID " + posting.getJobid() + " has a null course reference.");
-                    return false;
+    // Returns the saved postings: the given ones when inserted, the merged copies
+    // when they replaced existing postings.
+    private List<JobPosting> insertImported(List<JobPosting> postings, List<Course> referenced,
+                                            List<String> courseNumbers, List<Set<String>> requiredNumbers,
+                                            long version, boolean keepIds) {
+        List<JobPosting> saved = transactionTemplate.execute(status -> {
+            Map<String, Course> resolved = courseService.findOrCreateCourses(referenced, version);
+            for (int i = 0; i < postings.size(); i++) {
+                JobPosting posting = postings.get(i);
+                if (!keepIds) {
+                    posting.setJobid(0);
                 }
-                matches &= posting.getCourse().getCourseNumber().toLowerCase().contains(courseNumber.toLowerCase());
+                posting.setChangeVersion(version);
+                posting.setCourse(resolved.get(courseNumbers.get(i)));
+                posting.setRequiredCourses(new HashSet<>());
+            }
+            List<JobPosting> managed = jobPostingRepository.saveAll(postings);
+            // Required courses are added after a flush: written together with the
+            // standings, the two tables' rows alternate and every batch holds one row.
+            jobPostingRepository.flush();
+            for (int i = 0; i < managed.size(); i++) {
+                Set<Course> required = managed.get(i).getRequiredCourses();
+                requiredNumbers.get(i).forEach(courseNumber -> required.add(resolved.get(courseNumber)));
             }
-            if (courseName != null && !courseName.isEmpty()) {
-                if (posting.getCourse() == null) {
-                    System.err.println("Error: JobPosting with ID " + posting.getJobid() + " has a null course reference.");
+            return managed;
+        });
+
+        // Only once committed, so a failed import leaves the index untouched. The
+        // course references are swapped for the cached courses, new ones included.
+        Set<String> allNumbers = new HashSet<>(courseNumbers);
+        requiredNumbers.forEach(allNumbers::addAll);
+        Map<String, Course> committed = courseService.findCourses(allNumbers);
+        courseService.indexCourses(committed.values());
+        for (int i = 0; i < saved.size(); i++) {
+            JobPosting posting = saved.get(i);
+            posting.setCourse(committed.get(courseNumbers.get(i)));
+            Set<Course> required = new HashSet<>();
+            requiredNumbers.get(i).forEach(courseNumber -> required.add(committed.get(courseNumber)));
+            posting.setRequiredCourses(required);
+            searchIndex.index(posting);
+            postingMatcher.index(posting);
+        }
+        return saved;
+    }
+
+    // Deletes a posting and records a tombstone for /changes; false when there is no such posting.
+    public boolean deleteJobPosting(int jobid) {
+        long version = changeVersions.next();
+        try {
+            boolean deleted = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (jobPostingRepository.deleteByJobid(jobid) == 0) {
                     return false;
                 }
-                matches &= posting.getCourse().getCourseName().toLowerCase().contains(courseName.toLowerCase());
+                deletedJobPostingRepository.save(new DeletedJobPosting(jobid, version));
+                return true;
+            }));
+            if (deleted) {
+                searchIndex.remove(jobid);
+                postingMatcher.remove(jobid);
             }
+            return deleted;
+        } finally {
+            changeVersions.release(version);
+        }
+    }
+
+    // Postings written or deleted after the given version, oldest change first. The
+    // version is read first, so anything committed later is picked up by the next call.
+    public Changes<JobPosting, Integer> findChangesSince(long since) {
+        long version = changeVersions.current();
+        List<JobPosting> changed = jobPostingRepository.findPageWithAssociations(
+                JobPostingSpecifications.changedAfter(since), Pageable.unpaged(Sort.by("changeVersion"))).getContent();
+        return new Changes<>(version, changed, deletedJobPostingRepository.findJobidsChangedAfter(since));
+    }
+
+    public List<JobPosting> getAllJobPostings() {
+        return jobPostingRepository.findAll();
+    }
+
+    // Filters by course number, course name, skill and instructor name (facultyName)
+    // substrings and by the selected facet values in one query; any combination of
+    // them may be given. All filters are answered by the in-memory search index,
+    // so the query only looks up the matching IDs.
+    public Page<JobPosting> filterJobPostings(String courseNumber, String courseName, String skill,
+                                              String instructorName, FacetSelection facets, Pageable pageable) {
+        int[] jobids = searchIndex.findPostings(courseNumber, courseName, skill, instructorName, facets);
+        Specification<JobPosting> specification;
+        if (jobids == null) {
+            specification = null;
+        } else if (jobids.length == 0) {
+            return Page.empty(pageable);
+        } else if (jobids.length <= MAX_ID_FILTER) {
+            specification = JobPostingSpecifications.idIn(jobids);
+        } else {
+            specification = JobPostingSpecifications.matching(courseNumber, courseName, skill, instructorName)
+                    .and(JobPostingSpecifications.hasAnyStanding(facets.getStandings()))
+                    .and(JobPostingSpecifications.facultyNameIn(facets.getInstructors()))
+                    .and(JobPostingSpecifications.courseNumberIn(facets.getCourseNumbers()));
+        }
+        return jobPostingRepository.findPageWithAssociations(specification, pageable);
+    }
+
+    // Postings per standing, instructor and course number for the same filters.
+    public Map<String, Map<String, Integer>> facetCounts(String courseNumber, String courseName, String skill,
+                                                         String instructorName, FacetSelection facets) {
+        return searchIndex.facetCounts(courseNumber, courseName, skill, instructorName, facets);
+    }
+
+    // The limit best postings for the student, ranked in memory by PostingMatcher;
+    // only the winners are loaded from the database.
+    public List<PostingMatch> matchJobPostings(StudentProfile profile, int limit) {
+        List<PostingMatch> matches = postingMatcher.topMatches(profile, limit);
+        if (matches.isEmpty()) {
             return matches;
-        }).collect(Collectors.toList());
+        }
+        int[] jobids = matches.stream().mapToInt(PostingMatch::getJobid).toArray();
+        Map<Integer, JobPosting> postings = new HashMap<>();
+        jobPostingRepository.findPageWithAssociations(JobPostingSpecifications.idIn(jobids), Pageable.unpaged())
+                .forEach(posting -> postings.put(posting.getJobid(), posting));
+        List<PostingMatch> loaded = new ArrayList<>(matches.size());
+        for (PostingMatch match : matches) {
+            // Skips postings deleted since they were indexed.
+            JobPosting posting = postings.get(match.getJobid());
+            if (posting != null) {
+                match.setPosting(posting);
+                loaded.add(match);
+            }
+        }
+        return loaded;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package com.example.ta_ms.sync;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.OptionalLong;
+import java.util.TreeSet;
+
+/**
+ * One increasing version number for all writes to job postings and courses.
+ * Each written row stores the version of its write in change_version, so the
+ * rows changed after a version are an index range scan, and the latest version
+ * is the ETag of the list endpoints. Like the caches, this assumes a single
+ * application instance.
+ *
+ * <p>A version is pending from {@link #next} until its write has committed
+ * ({@link #release}). {@link #current} stays below every pending version, so a
+ * client resuming from it cannot miss a write that commits out of order.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class ChangeVersions {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long last;
+    private final TreeSet<Long> pending = new TreeSet<>();
+
+    @PostConstruct
+    synchronized void load() {
+        last = Math.max(maxVersion("job_postings"),
+                Math.max(maxVersion("courses"), maxVersion("deleted_job_postings")));
+    }
+
+    private long maxVersion(String table) {
+        Long max = jdbcTemplate.queryForObject("select coalesce(max(change_version), 0) from " + table, Long.class);
+        return max == null ? 0 : max;
+    }
+
+    // The version for a new write; it must be released once the write is done, committed or not.
+    public synchronized long next() {
+        pending.add(++last);
+        return last;
+    }
+
+    // Inside a transaction the version stays pending until the transaction completes.
+    public void release(long version) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    done(version);
+                }
+            });
+        } else {
+            done(version);
+        }
+    }
+
+    private synchronized void done(long version) {
+        pending.remove(version);
+    }
+
+    // Every write up to and including this version has committed.
+    public synchronized long current() {
+        return pending.isEmpty() ? last : pending.first() - 1;
+    }
+
+    // The latest version, when no write is in flight. While one is, a later write
+    // may commit first and change the data without moving current().
+    public synchronized OptionalLong settled() {
+        return pending.isEmpty() ? OptionalLong.of(last) : OptionalLong.empty();
+    }
+
+    // Sets a strong ETag from the settled version and returns true when the client's
+    // copy is still current; the response is then a 304 and the caller returns null.
+    // Must be called before reading, so a body is never older than its tag.
+    public boolean checkNotModified(WebRequest request) {
+        OptionalLong version = settled();
+        return version.isPresent() && request.checkNotModified("\"" + version.getAsLong() + "\"");
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ta_ms.sync;
+
+import java.util.List;
+
+// Rows changed or deleted after a version, as returned by the /changes endpoints.
+// A client applies them and asks again with since=version; rows may repeat across calls.
+public class Changes<T, K> {
+
+    private final long version;
+    private final List<T> changed;
+    private final List<K> deleted;
+
+    public Changes(long version, List<T> changed, List<K> deleted) {
+        this.version = version;
+        this.changed = changed;
+        this.deleted = deleted;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    public List<K> getDeleted() {
+        return deleted;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.ta_ms;
+
+import com.example.ta_ms.cache.CourseCache;
+import com.example.ta_ms.matching.PostingMatcher;
+import com.example.ta_ms.search.FuzzyCourseIndex;
+import com.example.ta_ms.search.JobPostingSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Empties the tables and reloads every in-memory cache and index built from
+ * them, so tests sharing an application context start from nothing. Call
+ * {@link #reset} after each test that writes; a new cache or index must be
+ * reloaded here too.
+ */
+@TestComponent
+public class TestDatabase {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseCache courseCache;
+
+    @Autowired
+    private JobPostingSearchIndex searchIndex;
+
+    @Autowired
+    private FuzzyCourseIndex fuzzyCourseIndex;
+
+    @Autowired
+    private PostingMatcher postingMatcher;
+
+    // Rows are deleted with SQL: deleting postings through JPA would cascade into
+    // courses other postings still use.
+    public void reset() {
+        jdbcTemplate.update("delete from jobposting_standings");
+        jdbcTemplate.update("delete from jobposting_required_courses");
+        jdbcTemplate.update("delete from job_postings");
+        jdbcTemplate.update("delete from deleted_job_postings");
+        jdbcTemplate.update("delete from courses");
+        courseCache.reload();
+        searchIndex.reload();
+        fuzzyCourseIndex.reload();
+        postingMatcher.reload();
+    }
+}
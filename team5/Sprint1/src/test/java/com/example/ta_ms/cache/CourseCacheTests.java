@@ -0,0 +1,144 @@
+package com.example.ta_ms.cache;
+
+import com.example.ta_ms.TestDatabase;
+import com.example.ta_ms.controllers.PostJobController;
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.JobPosting;
+import com.example.ta_ms.services.CourseService;
+import com.example.ta_ms.services.JobPostingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@Import(TestDatabase.class)
+class CourseCacheTests {
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private CourseCache courseCache;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JobPostingService jobPostingService;
+
+    @Autowired
+    private PostJobController postJobController;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        testDatabase.reset();
+    }
+
+    private long statements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    void servesReadsFromTheSnapshotAndReadsThroughOnMiss() {
+        courseService.saveCourse(new Course("CS5330", "Database Systems", ""));
+        courseService.saveCourse(new Course("CS5343", "Compilers", ""));
+        courseService.saveCourse(new Course("CS1341", "Discrete Math", ""));
+
+        assertEquals(0, statements(() -> {
+            assertEquals(3, courseService.getAllCourses().size());
+            assertEquals("Compilers", courseCache.find("cs5343").getCourseName());
+            assertEquals(List.of("CS5330", "CS5343"),
+                    courseService.findCoursesByPrefix("cs53").stream().map(Course::getCourseNumber).toList());
+            assertEquals(List.of("CS1341"),
+                    courseService.findCoursesByPrefix("disc").stream().map(Course::getCourseNumber).toList());
+        }));
+
+        // Written behind the cache's back: the first lookup reads it through, the next is a hit.
+        jdbcTemplate.update("insert into courses (course_number, course_name, description) values ('CS7000', 'Theory', '')");
+        long misses = courseCache.getMisses();
+        assertNotNull(courseCache.find("CS7000"));
+        assertEquals(misses + 1, courseCache.getMisses());
+        assertEquals(0, statements(() -> assertNotNull(courseCache.find("CS7000"))));
+        assertEquals(4, courseCache.size());
+    }
+
+    @Test
+    void writesThroughOnSave() {
+        courseService.saveCourse(new Course("CS5330", "Database Systems", ""));
+        courseService.saveCourse(new Course("CS5330", "Database Management", ""));
+        assertEquals("Database Management", courseCache.find("CS5330").getCourseName());
+        assertEquals(1, courseService.findCoursesByPrefix("database m").size());
+        assertEquals(0, courseService.findCoursesByPrefix("database s").size());
+    }
+
+    @Test
+    void keepsTheNewerCourseWhenAStaleReadArrivesLate() {
+        Course old = courseService.saveCourse(new Course("CS5330", "Database Systems", ""));
+        Course stale = new Course("CS5330", "Database Systems", "");
+        stale.setChangeVersion(old.getChangeVersion());
+        courseService.saveCourse(new Course("CS5330", "Database Management", ""));
+
+        // As a read-through that loaded the row before the second save would.
+        courseCache.putAll(List.of(stale));
+        assertEquals("Database Management", courseCache.find("CS5330").getCourseName());
+    }
+
+    @Test
+    void postingAnExistingJobidUpdatesThatPosting() {
+        JobPosting first = (JobPosting) postJobController.createJobPosting(
+                new JobPosting("Dr. Smith", "smith@smu.edu", new Course("CS5330", "Database Systems", ""), "Grading", null))
+                .getBody();
+        JobPosting update = new JobPosting("Dr. Smith", "smith@smu.edu", new Course("CS5330", null, null), "Grading and labs", null);
+        update.setRequiredCourses(Set.of(new Course("CS1341", "Discrete Math", "")));
+        update.setJobid(first.getJobid());
+        JobPosting updated = (JobPosting) postJobController.createJobPosting(update).getBody();
+
+        assertEquals(first.getJobid(), updated.getJobid());
+        assertEquals("Discrete Math", updated.getRequiredCourses().iterator().next().getCourseName());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from jobposting_required_courses where course_number = 'CS1341'", Integer.class));
+
+        assertEquals(List.of("Grading and labs"), jdbcTemplate.queryForList("select job_details from job_postings", String.class));
+        assertEquals("Database Systems", courseCache.find("CS5330").getCourseName());
+    }
+
+    @Test
+    void postingExistingCoursesDoesNotReadTheCourseTable() {
+        courseService.saveCourse(new Course("CS5330", "Database Systems", ""));
+        courseService.saveCourse(new Course("CS1341", "Discrete Math", ""));
+
+        JobPosting posting = new JobPosting("Dr. Smith", "smith@smu.edu", new Course("CS5330", null, null), "", null);
+        posting.setRequiredCourses(Set.of(new Course("CS1341", null, null)));
+        posting.setStandings(Set.of("Senior"));
+        long courseLoads = entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getEntityLoadCount();
+        JobPosting saved = jobPostingService.importJobPostings(List.of(posting)).get(0);
+
+        assertEquals(courseLoads, entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getEntityLoadCount());
+        assertEquals("Database Systems", saved.getCourse().getCourseName());
+        assertEquals("Discrete Math", saved.getRequiredCourses().iterator().next().getCourseName());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from jobposting_required_courses where course_number = 'CS1341'", Integer.class));
+        assertEquals(2, courseCache.size());
+    }
+}
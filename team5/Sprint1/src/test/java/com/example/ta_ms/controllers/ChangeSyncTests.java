@@ -0,0 +1,127 @@
+package com.example.ta_ms.controllers;
+
+import com.example.ta_ms.TestDatabase;
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.JobPosting;
+import com.example.ta_ms.services.CourseService;
+import com.example.ta_ms.services.JobPostingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@Import(TestDatabase.class)
+@AutoConfigureMockMvc
+class ChangeSyncTests {
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JobPostingService jobPostingService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @AfterEach
+    void tearDown() {
+        testDatabase.reset();
+    }
+
+    private JobPosting importPosting(String facultyName, String courseNumber) {
+        JobPosting posting = new JobPosting(facultyName, "", new Course(courseNumber, "Course " + courseNumber, ""), "", null);
+        return jobPostingService.importJobPostings(List.of(posting)).get(0);
+    }
+
+    @Test
+    void listsAnswer304UntilSomethingIsWritten() throws Exception {
+        importPosting("Dr. Smith", "CS1341");
+        for (String endpoint : new String[]{"/api/courses", "/api/jobpostings/filter"}) {
+            MvcResult first = mockMvc.perform(get(endpoint)).andExpect(status().isOk()).andReturn();
+            String etag = first.getResponse().getHeader("ETag");
+            assertNotNull(etag, endpoint);
+
+            mockMvc.perform(get(endpoint).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        String etag = mockMvc.perform(get("/api/courses")).andReturn().getResponse().getHeader("ETag");
+        courseService.saveCourse(new Course("CS2341", "Data Structures", ""));
+        MvcResult changed = mockMvc.perform(get("/api/courses").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andReturn();
+        assertNotEquals(etag, changed.getResponse().getHeader("ETag"));
+    }
+
+    @Test
+    void changesSinceAVersionHoldOnlyLaterWritesAndDeletes() throws Exception {
+        JobPosting kept = importPosting("Dr. Smith", "CS1341");
+        JobPosting removed = importPosting("Dr. Jones", "CS2341");
+        String since = mockMvc.perform(get("/api/jobpostings/filter"))
+                .andReturn().getResponse().getHeader("X-Change-Version");
+        String courseSince = mockMvc.perform(get("/api/courses"))
+                .andReturn().getResponse().getHeader("X-Change-Version");
+
+        mockMvc.perform(get("/api/jobpostings/changes").param("since", since))
+                .andExpect(jsonPath("$.version").value(Long.parseLong(since)))
+                .andExpect(jsonPath("$.changed", empty()))
+                .andExpect(jsonPath("$.deleted", empty()));
+
+        JobPosting added = importPosting("Dr. Brown", "CS3341");
+        mockMvc.perform(delete("/api/jobpostings/" + removed.getJobid())).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/jobpostings/" + removed.getJobid())).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/api/jobpostings/changes").param("since", since))
+                .andExpect(jsonPath("$.changed[*].jobid", contains(added.getJobid())))
+                .andExpect(jsonPath("$.changed[0].course.courseNumber").value("CS3341"))
+                .andExpect(jsonPath("$.deleted", contains(removed.getJobid())));
+        mockMvc.perform(get("/api/courses/changes").param("since", courseSince))
+                .andExpect(jsonPath("$.changed[*].courseNumber", contains("CS3341")));
+        mockMvc.perform(get("/api/jobpostings/filter"))
+                .andExpect(jsonPath("$[*].jobid", contains(kept.getJobid(), added.getJobid())));
+    }
+
+    @Test
+    void renamingACourseResendsThePostingsThatEmbedIt() throws Exception {
+        JobPosting teaching = importPosting("Dr. Smith", "CS1341");
+        JobPosting requiring = new JobPosting("Dr. Jones", "", new Course("CS2341", "Course CS2341", ""), "", null);
+        requiring.setRequiredCourses(Set.of(new Course("CS1341", "Course CS1341", "")));
+        requiring = jobPostingService.importJobPostings(List.of(requiring)).get(0);
+        importPosting("Dr. Brown", "CS3341");
+        String since = mockMvc.perform(get("/api/jobpostings/filter"))
+                .andReturn().getResponse().getHeader("X-Change-Version");
+
+        courseService.saveCourse(new Course("CS1341", "Intro to Programming", "Renamed"));
+
+        mockMvc.perform(get("/api/jobpostings/changes").param("since", since))
+                .andExpect(jsonPath("$.changed[*].jobid", containsInAnyOrder(teaching.getJobid(), requiring.getJobid())))
+                .andExpect(jsonPath("$.changed[?(@.jobid == " + teaching.getJobid() + ")].course.courseName")
+                        .value("Intro to Programming"))
+                .andExpect(jsonPath("$.deleted", empty()));
+    }
+}
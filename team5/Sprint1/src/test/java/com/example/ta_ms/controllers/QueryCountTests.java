@@ -0,0 +1,161 @@
+package com.example.ta_ms.controllers;
+
+import com.example.ta_ms.TestDatabase;
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.JobPosting;
+import com.example.ta_ms.services.CourseService;
+import com.example.ta_ms.services.JobPostingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Read endpoints must issue the same number of SQL statements for 5 rows as for 50;
+// a difference means associations are being loaded one row at a time.
+@SpringBootTest
+@Import(TestDatabase.class)
+@AutoConfigureMockMvc
+class QueryCountTests {
+
+    // Pages hold every row, so no count query is needed at either size.
+    private static final String[] ENDPOINTS = {
+            "/api/jobpostings/filter",
+            "/api/jobpostings/filter?size=100",
+            "/api/jobpostings/filter?size=100&standing=Senior",
+            "/api/jobpostings/filter?size=100&standing=Junior&standing=Senior&instructor=Dr.%20Smith%203",
+            "/api/jobpostings/facets?skill=java&standing=Senior",
+            "/api/jobpostings/filter?size=100&skill=java",
+            "/api/jobpostings/filter?size=100&courseName=data&sort=course.courseName",
+            "/api/courses"
+    };
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JobPostingService jobPostingService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private int seeded;
+
+    @AfterEach
+    void tearDown() {
+        testDatabase.reset();
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithRows() throws Exception {
+        seed(5);
+        long[] few = new long[ENDPOINTS.length];
+        for (int i = 0; i < ENDPOINTS.length; i++) {
+            few[i] = statementsFor(ENDPOINTS[i]);
+        }
+
+        seed(45);
+        for (int i = 0; i < ENDPOINTS.length; i++) {
+            assertEquals(few[i], statementsFor(ENDPOINTS[i]), ENDPOINTS[i]);
+        }
+    }
+
+    @Test
+    void filterReturnsEveryMatchUnlessAPageIsRequested() throws Exception {
+        seed(60);
+        mockMvc.perform(get("/api/jobpostings/filter"))
+                .andExpect(jsonPath("$", hasSize(60)))
+                .andExpect(header().string("X-Total-Count", "60"));
+        mockMvc.perform(get("/api/jobpostings/filter?size=50"))
+                .andExpect(jsonPath("$", hasSize(50)))
+                .andExpect(header().string("X-Total-Count", "60"));
+        mockMvc.perform(get("/api/jobpostings/filter?page=1"))
+                .andExpect(jsonPath("$", hasSize(10)));
+    }
+
+    @Test
+    void getAllJobPostingsLoadsAssociationsInOneStatement() {
+        seed(20);
+        Statistics statistics = statistics();
+        statistics.clear();
+        jobPostingService.getAllJobPostings().forEach(posting -> {
+            posting.getRequiredCourses().size();
+            posting.getStandings().size();
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    // Ranking happens in memory; only the winning postings are loaded.
+    @Test
+    void matchLoadsOnlyTheTopPostings() throws Exception {
+        seed(5);
+        long few = statementsForMatch();
+        seed(45);
+        assertEquals(few, statementsForMatch());
+    }
+
+    private long statementsForMatch() throws Exception {
+        Statistics statistics = statistics();
+        statistics.clear();
+        mockMvc.perform(post("/api/jobpostings/match?limit=3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"skills\": [\"java\", \"sql\"], \"completedCourses\": [\"CS1000\"], \"standing\": \"Senior\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].posting.course.courseNumber").value("CS5000"))
+                .andExpect(jsonPath("$[0].score").value(1.0));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long statementsFor(String endpoint) throws Exception {
+        Statistics statistics = statistics();
+        statistics.clear();
+        mockMvc.perform(get(endpoint)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Each posting gets its own course and required course, so per-row loading shows up.
+    private void seed(int count) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < count; i++) {
+                int n = seeded++;
+                Course course = courseService.saveCourse(new Course("CS" + (5000 + n), "Database Systems " + n, ""));
+                Course required = courseService.saveCourse(new Course("CS" + (1000 + n), "Intro " + n, ""));
+                JobPosting posting = new JobPosting("Dr. Smith " + n, "smith@smu.edu", course, "", null);
+                posting.setSkills("Java, SQL");
+                posting.setStandings(Set.of("Junior", "Senior"));
+                posting.setRequiredCourses(Set.of(required));
+                jobPostingService.saveJobPosting(posting);
+            }
+        });
+    }
+}
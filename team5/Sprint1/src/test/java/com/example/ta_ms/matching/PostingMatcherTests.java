@@ -0,0 +1,109 @@
+package com.example.ta_ms.matching;
+
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.JobPosting;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PostingMatcherTests {
+
+    private static final String[] SKILLS = {"Java", "SQL", "Python", "React", "C++", "Teaching", "Grading"};
+    private static final String[] STANDINGS = {"Freshman", "Sophomore", "Junior", "Senior"};
+
+    private static JobPosting posting(int jobid, String skills, List<Course> required, Set<String> standings) {
+        JobPosting posting = new JobPosting("Dr. Faculty", "", null, "", null);
+        posting.setJobid(jobid);
+        posting.setSkills(skills);
+        posting.setRequiredCourses(new HashSet<>(required));
+        posting.setStandings(standings);
+        return posting;
+    }
+
+    // The score spelled out per posting, with the default weights.
+    private static double expectedScore(JobPosting posting, StudentProfile profile) {
+        Set<String> has = new HashSet<>();
+        profile.getSkills().forEach(skill -> has.add(skill.toLowerCase()));
+        List<String> skills = new ArrayList<>();
+        for (String skill : posting.getSkills().split(",")) {
+            if (!skill.isBlank() && !skills.contains(skill.trim().toLowerCase())) {
+                skills.add(skill.trim().toLowerCase());
+            }
+        }
+        double skillScore = skills.isEmpty() ? 1 : (double) skills.stream().filter(has::contains).count() / skills.size();
+        double courseScore = posting.getRequiredCourses().isEmpty() ? 1
+                : (double) posting.getRequiredCourses().stream()
+                        .filter(course -> profile.getCompletedCourses().contains(course.getCourseNumber())).count()
+                        / posting.getRequiredCourses().size();
+        double standingScore = posting.getStandings().isEmpty() || posting.getStandings().contains(profile.getStanding()) ? 1 : 0;
+        return 0.5 * skillScore + 0.3 * courseScore + 0.2 * standingScore;
+    }
+
+    @Test
+    void ranksLikeABruteForceScore() {
+        Random random = new Random(21);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            courses.add(new Course("CS" + (1000 + i), "Course " + i, ""));
+        }
+        PostingMatcher matcher = new PostingMatcher();
+        Map<Integer, JobPosting> postings = new HashMap<>();
+        // Enough postings for several chunks; jobids 1..4000 are replaced, then 1..1000 removed.
+        for (int round = 0; round < 2; round++) {
+            for (int jobid = 1; jobid <= 40_000; jobid++) {
+                if (round == 1 && jobid > 4000) {
+                    break;
+                }
+                StringJoiner skills = new StringJoiner(", ");
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    skills.add(SKILLS[random.nextInt(SKILLS.length)]);
+                }
+                List<Course> required = new ArrayList<>();
+                for (int i = random.nextInt(3); i > 0; i--) {
+                    required.add(courses.get(random.nextInt(courses.size())));
+                }
+                Set<String> standings = new HashSet<>();
+                for (int i = random.nextInt(3); i > 0; i--) {
+                    standings.add(STANDINGS[random.nextInt(STANDINGS.length)]);
+                }
+                JobPosting posting = posting(jobid, skills.toString(), required, standings);
+                matcher.index(posting);
+                postings.put(jobid, posting);
+            }
+        }
+        for (int jobid = 1; jobid <= 1000; jobid++) {
+            matcher.remove(jobid);
+            postings.remove(jobid);
+        }
+        assertEquals(postings.size(), matcher.size());
+
+        StudentProfile profile = new StudentProfile(List.of("java", "SQL", "Grading"),
+                List.of("CS1003", "CS1010", "CS1020"), "Junior");
+        List<PostingMatch> matches = matcher.topMatches(profile, 50);
+
+        List<Integer> expected = postings.values().stream()
+                .sorted(Comparator.comparingDouble((JobPosting posting) -> expectedScore(posting, profile)).reversed()
+                        .thenComparingInt(JobPosting::getJobid))
+                .limit(50)
+                .map(JobPosting::getJobid)
+                .toList();
+        assertEquals(expected, matches.stream().map(PostingMatch::getJobid).toList());
+        for (PostingMatch match : matches) {
+            assertEquals(expectedScore(postings.get(match.getJobid()), profile), match.getScore(), 1e-9);
+        }
+    }
+
+    @Test
+    void unknownSkillsCoursesAndStandingsScoreOnlyOpenPostings() {
+        PostingMatcher matcher = new PostingMatcher();
+        matcher.index(posting(1, "Java", List.of(new Course("CS1341", "Principles", "")), Set.of("Senior")));
+        matcher.index(posting(2, "", List.of(), Set.of()));
+
+        List<PostingMatch> matches = matcher.topMatches(new StudentProfile(List.of("Haskell"), List.of("MATH9999"), "Alumnus"), 5);
+        assertEquals(List.of(2, 1), matches.stream().map(PostingMatch::getJobid).toList());
+        assertEquals(1.0, matches.get(0).getScore(), 1e-9);
+        assertEquals(0.0, matches.get(1).getScore(), 1e-9);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.ta_ms.repositories;
+
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.JobPosting;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+class JobPostingSpecificationsTests {
+
+    @Autowired
+    private JobPostingRepository jobPostingRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @BeforeEach
+    void setUp() {
+        Course databases = courseRepository.save(new Course("CS5330", "Database Systems", ""));
+        Course compilers = courseRepository.save(new Course("CS5343", "Compilers", ""));
+        save("Dr. Smith", databases, "Java, SQL", Set.of("Junior", "Senior"));
+        save("Dr. Smithers", compilers, "Java, C++", Set.of("Senior"));
+        save("Dr. Jones", databases, "Python, 100%_effort", Set.of("Sophomore"));
+    }
+
+    private void save(String faculty, Course course, String skills, Set<String> standings) {
+        JobPosting posting = new JobPosting(faculty, faculty.toLowerCase() + "@smu.edu", course, "", null);
+        posting.setSkills(skills);
+        posting.setStandings(standings);
+        jobPostingRepository.save(posting);
+    }
+
+    private List<String> facultyMatching(String courseNumber, String courseName, String skill,
+                                         String instructorName, List<String> standings) {
+        return jobPostingRepository.findAll(
+                        JobPostingSpecifications.matching(courseNumber, courseName, skill, instructorName)
+                                .and(JobPostingSpecifications.hasAnyStanding(standings)),
+                        Sort.by("facultyName"))
+                .stream().map(JobPosting::getFacultyName).toList();
+    }
+
+    @Test
+    void combinesCourseAndPostingFilters() {
+        assertEquals(List.of("Dr. Smith"), facultyMatching("5330", null, "JAVA", null, List.of()));
+        assertEquals(List.of("Dr. Smith", "Dr. Smithers"), facultyMatching(null, null, null, "smith", List.of("Senior")));
+        assertEquals(List.of("Dr. Jones"), facultyMatching(null, "database", null, null, List.of("Sophomore", "Freshman")));
+        assertEquals(List.of("Dr. Jones", "Dr. Smith", "Dr. Smithers"), facultyMatching(" ", null, null, "", List.of()));
+    }
+
+    @Test
+    void treatsLikeWildcardsLiterally() {
+        assertEquals(List.of("Dr. Jones"), facultyMatching(null, null, "%_", null, List.of()));
+        assertEquals(List.of(), facultyMatching(null, null, "_ava", null, List.of()));
+    }
+
+    @Test
+    void pagesWithoutDuplicatesFromMultipleStandings() {
+        Page<JobPosting> page = jobPostingRepository.findAll(
+                JobPostingSpecifications.matching(null, null, "java", null)
+                        .and(JobPostingSpecifications.hasAnyStanding(List.of("Junior", "Senior"))),
+                PageRequest.of(0, 1, Sort.by("facultyName").descending()));
+        assertEquals(2, page.getTotalElements());
+        assertEquals("Dr. Smithers", page.getContent().get(0).getFacultyName());
+    }
+}
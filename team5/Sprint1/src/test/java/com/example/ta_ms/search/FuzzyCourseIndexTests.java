@@ -0,0 +1,56 @@
+package com.example.ta_ms.search;
+
+import com.example.ta_ms.entities.Course;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FuzzyCourseIndexTests {
+
+    private static FuzzyCourseIndex catalog() {
+        FuzzyCourseIndex index = new FuzzyCourseIndex();
+        index.index(new Course("CS1341", "Principles of Computer Science I", ""));
+        index.index(new Course("CS2341", "Data Structures", ""));
+        index.index(new Course("CS3353", "Fundamentals of Algorithms", ""));
+        index.index(new Course("CS5330", "Databases", ""));
+        index.index(new Course("MATH1337", "Calculus I", ""));
+        return index;
+    }
+
+    @Test
+    void findsNamesAndNumbersDespiteTypos() {
+        FuzzyCourseIndex index = catalog();
+        assertEquals("CS2341", index.search("data strucutres", 10).get(0));
+        assertEquals("CS3353", index.search("algoritms", 10).get(0));
+        assertEquals(List.of("CS5330"), index.search("databses", 10));
+        // A swap of neighbouring digits is one edit; numbers allow no more than one.
+        assertEquals(List.of("CS1341"), index.search("cs1314", 10));
+        assertEquals(List.of("CS1341", "CS2341"), index.search("cs341", 10));
+        assertEquals("CS2341", index.search("CS 2341", 10).get(0));
+        assertEquals(List.of(), index.search("xyzzy", 10));
+        // Short words must match exactly; ties go in number order.
+        assertEquals(List.of("CS1341", "MATH1337"), index.search("i", 10));
+    }
+
+    @Test
+    void replacesTheTermsOfARenamedCourse() {
+        FuzzyCourseIndex index = catalog();
+        index.index(new Course("CS5330", "Machine Learning", ""));
+        assertEquals(List.of(), index.search("databases", 10));
+        assertEquals(List.of("CS5330"), index.search("machine lerning", 10));
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    void distanceCountsInsertionsDeletionsSubstitutionsAndSwaps() {
+        assertEquals(0, FuzzyCourseIndex.distance("data", "data", 2));
+        assertEquals(1, FuzzyCourseIndex.distance("data", "dta", 2));
+        assertEquals(1, FuzzyCourseIndex.distance("data", "daata", 2));
+        assertEquals(1, FuzzyCourseIndex.distance("data", "dara", 2));
+        assertEquals(1, FuzzyCourseIndex.distance("data", "dtaa", 2));
+        assertEquals(2, FuzzyCourseIndex.distance("structures", "strucutre", 2));
+        assertEquals(3, FuzzyCourseIndex.distance("calculus", "algorithms", 2));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ta_ms.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RoaringBitmapTests {
+
+    private static int[] toArray(Set<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    // Each bitmap mixes a dense range (bitmap containers), a sparse spread
+    // (array containers) and removals that convert dense containers back.
+    private static void fill(Random random, RoaringBitmap bitmap, Set<Integer> expected, int denseStart) {
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextBoolean()
+                    ? denseStart + random.nextInt(30000)
+                    : random.nextInt(5_000_000);
+            bitmap.add(value);
+            expected.add(value);
+        }
+        for (int i = 0; i < 15000; i++) {
+            int value = denseStart + random.nextInt(30000);
+            bitmap.remove(value);
+            expected.remove(value);
+        }
+    }
+
+    @Test
+    void matchesASetThroughAddsRemovesAndSetOperations() {
+        Random random = new Random(19);
+        RoaringBitmap a = new RoaringBitmap();
+        RoaringBitmap b = new RoaringBitmap();
+        Set<Integer> expectedA = new TreeSet<>();
+        Set<Integer> expectedB = new TreeSet<>();
+        fill(random, a, expectedA, 60000);
+        fill(random, b, expectedB, 70000);
+
+        assertArrayEquals(toArray(expectedA), a.toArray());
+        assertEquals(expectedA.size(), a.getCardinality());
+
+        Set<Integer> and = new TreeSet<>(expectedA);
+        and.retainAll(expectedB);
+        Set<Integer> or = new TreeSet<>(expectedA);
+        or.addAll(expectedB);
+        assertArrayEquals(toArray(and), RoaringBitmap.and(a, b).toArray());
+        assertEquals(and.size(), RoaringBitmap.andCardinality(a, b));
+        assertArrayEquals(toArray(or), RoaringBitmap.or(a, b).toArray());
+
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(5_000_000);
+            assertEquals(expectedA.contains(value), a.contains(value));
+        }
+    }
+
+    @Test
+    void countsFacetValuesWithoutTheirOwnSelection() {
+        FacetIndex facets = new FacetIndex("standing", "instructor");
+        facets.add(1, "standing", List.of("Junior", "Senior"));
+        facets.add(1, "instructor", List.of("Dr. Smith"));
+        facets.add(2, "standing", List.of("senior"));
+        facets.add(2, "instructor", List.of("Dr. Jones"));
+        facets.add(3, "standing", List.of("Freshman"));
+        facets.add(3, "instructor", List.of("Dr. Smith"));
+
+        RoaringBitmap smith = facets.select("instructor", List.of("dr. smith"));
+        assertArrayEquals(new int[]{1, 3}, smith.toArray());
+        assertEquals(Map.of("Junior", 1, "Senior", 1, "Freshman", 1), facets.counts("standing", smith));
+        assertEquals(Map.of("Senior", 2, "Junior", 1, "Freshman", 1), facets.counts("standing", null));
+
+        facets.remove(1);
+        assertEquals(Map.of("Senior", 1, "Freshman", 1), facets.counts("standing", null));
+        assertEquals(Map.of("Dr. Jones", 1, "Dr. Smith", 1), facets.counts("instructor", null));
+
+        // Reindexed under new values, a posting leaves the old ones.
+        facets.remove(3);
+        facets.add(3, "standing", List.of("Senior", "senior"));
+        facets.add(3, "instructor", List.of("Dr. Jones"));
+        assertEquals(Map.of("Senior", 2), facets.counts("standing", null));
+        assertEquals(Map.of("Dr. Jones", 2), facets.counts("instructor", null));
+
+        facets.remove(2);
+        facets.remove(2);
+        assertEquals(Map.of("Senior", 1), facets.counts("standing", null));
+        assertArrayEquals(new int[]{3}, facets.select("instructor", List.of("dr. jones")).toArray());
+    }
+}
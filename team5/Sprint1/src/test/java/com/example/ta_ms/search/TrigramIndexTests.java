@@ -0,0 +1,41 @@
+package com.example.ta_ms.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class TrigramIndexTests {
+
+    private static final String[] WORDS = {"Java", "Python", "SQL", "Smith", "Smithers", "C++", "Data", "Systems"};
+
+    private static int[] scan(Map<Integer, String> texts, String query) {
+        return texts.entrySet().stream()
+                .filter(e -> e.getValue().toLowerCase(Locale.ROOT).contains(query.toLowerCase(Locale.ROOT)))
+                .mapToInt(Map.Entry::getKey)
+                .sorted()
+                .toArray();
+    }
+
+    @Test
+    void matchesAScanAfterAddsUpdatesAndRemoves() {
+        Random random = new Random(16);
+        TrigramIndex index = new TrigramIndex();
+        Map<Integer, String> texts = new HashMap<>();
+        for (int step = 0; step < 5000; step++) {
+            int id = random.nextInt(1000);
+            if (random.nextInt(10) == 0) {
+                index.remove(id);
+                texts.remove(id);
+            } else {
+                String text = WORDS[random.nextInt(WORDS.length)] + ", " + WORDS[random.nextInt(WORDS.length)];
+                index.put(id, text);
+                texts.put(id, text);
+            }
+        }
+        for (String query : List.of("java", "SMI", "smithers", "a, s", "sq", "c++", "ata sys", "nothing")) {
+            assertArrayEquals(scan(texts, query), index.search(query), query);
+        }
+    }
+}
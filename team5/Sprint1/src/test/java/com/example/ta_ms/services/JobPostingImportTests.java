@@ -0,0 +1,91 @@
+package com.example.ta_ms.services;
+
+import com.example.ta_ms.TestDatabase;
+import com.example.ta_ms.entities.Course;
+import com.example.ta_ms.entities.JobPosting;
+import com.example.ta_ms.repositories.CourseRepository;
+import com.example.ta_ms.repositories.JobPostingRepository;
+import com.example.ta_ms.search.FacetSelection;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@Import(TestDatabase.class)
+class JobPostingImportTests {
+
+    private static final int POSTINGS = 5000;
+
+    @Autowired
+    private TestDatabase testDatabase;
+
+    @Autowired
+    private JobPostingService jobPostingService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JobPostingRepository jobPostingRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        testDatabase.reset();
+    }
+
+    @Test
+    void importsASemesterInBatches() {
+        courseService.saveCourse(new Course("CS5000", "Existing Name", ""));
+        List<JobPosting> postings = new ArrayList<>();
+        for (int i = 0; i < POSTINGS; i++) {
+            // Course numbers arrive as bare references; only the number is used for existing courses.
+            Course course = new Course("CS" + (5000 + i % 100), "Imported Name", "");
+            JobPosting posting = new JobPosting("Dr. Import " + i, "import@smu.edu", course, "", null);
+            posting.setSkills(i % 2 == 0 ? "Java" : "Python");
+            posting.setStandings(Set.of("Senior"));
+            posting.setRequiredCourses(Set.of(new Course("CS" + (1000 + i % 10), "Intro", "")));
+            postings.add(posting);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        jobPostingService.importJobPostings(postings);
+
+        // 5000 postings, 5000 required-course links and 5000 standings would be
+        // 15,000+ statements one row at a time.
+        assertTrue(statistics.getPrepareStatementCount() < POSTINGS / 10,
+                "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(POSTINGS, jobPostingRepository.count());
+        assertEquals(110, courseRepository.count());
+        assertEquals("Existing Name", courseRepository.findById("CS5000").orElseThrow().getCourseName());
+        assertEquals(POSTINGS / 2, jobPostingService.filterJobPostings(
+                null, null, "java", null, FacetSelection.NONE, Pageable.unpaged()).getTotalElements());
+    }
+
+    @Test
+    void rejectsPostingsWithoutCourse() {
+        JobPosting posting = new JobPosting("Dr. Import", "import@smu.edu", null, "", null);
+        assertThrows(IllegalArgumentException.class, () -> jobPostingService.importJobPostings(List.of(posting)));
+        assertEquals(0, jobPostingRepository.count());
+    }
+}
@@ -0,0 +1,74 @@
+package com.smu.analysis;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The stages of the analyzer hot path on generated corpora: tokenizing,
+ * counting (raw and with stopwords and stemming), and top-K selection against
+ * the full sort it replaced. Run with -prof gc for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalysisPipelineBenchmark {
+
+    @Param({"65536", "1048576", "16777216"})
+    public int size;
+
+    @Param({"1000", "100000"})
+    public int vocabulary;
+
+    private byte[] content;
+    private Map<String, Integer> keywordCounts;
+    private TermNormalizer normalizer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        content = new CorpusGenerator(vocabulary, 1).generate(size, 1).getBytes(StandardCharsets.UTF_8);
+        normalizer = new TermNormalizer(TermNormalizer.DEFAULT_STOPWORDS, true);
+        keywordCounts = StreamingTokenizer.keywordsOf(
+                StreamingTokenizer.countTerms(new ByteArrayInputStream(content), StandardCharsets.UTF_8, 1));
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole blackhole) throws IOException {
+        new StreamingTokenizer().tokenize(new ByteArrayInputStream(content), StandardCharsets.UTF_8,
+                (chars, length) -> blackhole.consume(length));
+    }
+
+    @Benchmark
+    public Map<String, Integer> countRaw() throws IOException {
+        return StreamingTokenizer.countTerms(new ByteArrayInputStream(content), StandardCharsets.UTF_8, 1);
+    }
+
+    @Benchmark
+    public Map<String, Integer> countNormalized() throws IOException {
+        return StreamingTokenizer.countTerms(new ByteArrayInputStream(content), StandardCharsets.UTF_8, 1, normalizer);
+    }
+
+    @Benchmark
+    public List<String> topKHeap() {
+        return TopK.select(keywordCounts, 10);
+    }
+
+    // The selection AnalysisService used before TopK, kept as a baseline.
+    @Benchmark
+    public List<String> topKFullSort() {
+        return keywordCounts.entrySet().stream()
+                .sorted((a, b) -> b.getValue() - a.getValue())
+                .limit(10)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
@@ -0,0 +1,75 @@
+package com.smu.analysis;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the batch endpoint's counting stage (tokenize, count, merge)
+ * as the fork/join pool grows. Compare the parallelism rows to see scaling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchAnalysisBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param("64")
+    public int files;
+
+    @Param("262144")
+    public int fileSize;
+
+    private List<byte[]> contents;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CorpusGenerator generator = new CorpusGenerator(50_000, 1);
+        contents = new ArrayList<>();
+        for (int i = 0; i < files; i++) {
+            contents.add(generator.generate(fileSize, i).getBytes(StandardCharsets.UTF_8));
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Map<String, Integer> countBatch() throws Exception {
+        List<Map<String, Integer>> perFile = pool.submit(() -> contents.parallelStream()
+                .map(BatchAnalysisBenchmark::count)
+                .toList()).get();
+
+        Map<String, Integer> combined = new HashMap<>();
+        for (Map<String, Integer> counts : perFile) {
+            StreamingTokenizer.keywordsOf(counts).forEach((term, count) -> combined.merge(term, count, Integer::sum));
+        }
+        return combined;
+    }
+
+    private static Map<String, Integer> count(byte[] content) {
+        try {
+            return StreamingTokenizer.countTerms(new ByteArrayInputStream(content), StandardCharsets.UTF_8, 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.smu.analysis;
+
+import java.util.Random;
+
+/**
+ * Generates English-like benchmark text: words drawn from a fixed vocabulary
+ * with a Zipf distribution, separated by spaces and punctuation.
+ */
+public class CorpusGenerator {
+
+    private final String[] vocabulary;
+    private final double[] cumulative;
+
+    public CorpusGenerator(int vocabularySize, long seed) {
+        Random random = new Random(seed);
+        vocabulary = new String[vocabularySize];
+        for (int i = 0; i < vocabularySize; i++) {
+            int length = 2 + random.nextInt(10);
+            StringBuilder word = new StringBuilder(length);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            // Some capitalized words, like sentence starts and names.
+            if (random.nextInt(10) == 0) {
+                word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+            }
+            vocabulary[i] = word.toString();
+        }
+
+        cumulative = new double[vocabularySize];
+        double sum = 0;
+        for (int i = 0; i < vocabularySize; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < vocabularySize; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    public String generate(int chars, long seed) {
+        Random random = new Random(seed);
+        StringBuilder sb = new StringBuilder(chars + 16);
+        while (sb.length() < chars) {
+            sb.append(nextWord(random));
+            int punctuation = random.nextInt(20);
+            sb.append(punctuation == 0 ? ".\n" : punctuation == 1 ? ", " : " ");
+        }
+        sb.setLength(chars);
+        return sb.toString();
+    }
+
+    // ASCII-only variant for inputs too large to build as a String first.
+    public byte[] generateBytes(int length, long seed) {
+        Random random = new Random(seed);
+        byte[] bytes = new byte[length];
+        int position = 0;
+        while (position < length) {
+            String word = nextWord(random);
+            for (int i = 0; i < word.length() && position < length; i++) {
+                bytes[position++] = (byte) word.charAt(i);
+            }
+            if (position < length) {
+                bytes[position++] = (byte) (random.nextInt(20) == 0 ? '\n' : ' ');
+            }
+        }
+        return bytes;
+    }
+
+    private String nextWord(Random random) {
+        double target = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return vocabulary[low];
+    }
+}
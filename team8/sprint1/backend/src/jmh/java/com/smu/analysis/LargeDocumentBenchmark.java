@@ -0,0 +1,58 @@
+package com.smu.analysis;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded counting against the chunked map-reduce path for one large
+ * upload. The 1000 MB case needs the 4 GB heap configured on the fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class LargeDocumentBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int sizeMb;
+
+    @Param("4194304")
+    public int chunkSize;
+
+    private byte[] content;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        content = new CorpusGenerator(100_000, 1).generateBytes(sizeMb * 1024 * 1024, 1);
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<String> sequential() throws IOException {
+        Map<String, Integer> counts = StreamingTokenizer.countTerms(
+                new ByteArrayInputStream(content), StandardCharsets.UTF_8, 1);
+        return TopK.select(StreamingTokenizer.keywordsOf(counts), 10);
+    }
+
+    @Benchmark
+    public List<String> parallel() throws IOException {
+        Map<String, Integer> counts = new ParallelTermCounter(pool, chunkSize)
+                .countTerms(new ByteArrayInputStream(content), 1);
+        return TopK.select(StreamingTokenizer.keywordsOf(counts), 10);
+    }
+}
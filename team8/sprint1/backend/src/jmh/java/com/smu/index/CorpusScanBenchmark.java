@@ -0,0 +1,68 @@
+package com.smu.index;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Full scan of the term vector store, summing counts per term as the top-terms
+ * endpoint does. Vectors have Zipf-distributed terms, about 1,000 distinct
+ * terms per document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CorpusScanBenchmark {
+
+    @Param({"10000", "100000"})
+    public int documents;
+
+    private Path directory;
+    private TermVectorStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("vector-bench");
+        store = new TermVectorStore(directory.toString());
+        store.load();
+        Random random = new Random(13);
+        LocalDate day = LocalDate.of(2025, 1, 1);
+        for (int doc = 0; doc < documents; doc++) {
+            Map<String, Integer> vector = new HashMap<>();
+            for (int i = 0; i < 3000; i++) {
+                // Roughly Zipfian over a 100k-term vocabulary.
+                int rank = (int) Math.pow(100_000, random.nextDouble());
+                vector.merge("t" + rank, 1, Integer::sum);
+            }
+            store.addDocument(doc, day.plusDays(doc % 365), vector);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        store.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long[] sumTermCounts() throws IOException {
+        long[] totals = new long[store.getTermCount()];
+        store.forEach((docId, epochDay, termIds, counts, length) -> {
+            for (int i = 0; i < length; i++) {
+                totals[termIds[i]] += counts[i];
+            }
+        });
+        return totals;
+    }
+}
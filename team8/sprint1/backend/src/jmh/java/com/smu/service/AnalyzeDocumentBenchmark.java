@@ -0,0 +1,80 @@
+package com.smu.service;
+
+import com.smu.ResearcherAnalyticsApplication;
+import com.smu.analysis.CorpusGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end AnalysisService.analyzeDocument: blob store write, counting,
+ * persistence, document frequencies and TF-IDF scoring. Runs the real Spring
+ * context against in-memory H2 in MySQL mode, with the result cache disabled
+ * and content made unique per call so every call takes the full path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyzeDocumentBenchmark {
+
+    @Param({"65536", "1048576"})
+    public int size;
+
+    @Param({"1000", "100000"})
+    public int vocabulary;
+
+    private ConfigurableApplicationContext context;
+    private AnalysisService analysisService;
+    private byte[] content;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path data = Files.createTempDirectory("analyze-bench");
+        SpringApplication application = new SpringApplication(ResearcherAnalyticsApplication.class);
+        context = application.run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:analyze;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--analysis.cache.max-entries=0",
+                "--analysis.content-store.directory=" + data.resolve("blobs"),
+                "--analysis.index.directory=" + data.resolve("index"),
+                "--analysis.vectors.directory=" + data.resolve("vectors"));
+        analysisService = context.getBean(AnalysisService.class);
+        content = new CorpusGenerator(vocabulary, 1).generate(size, 1).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> analyzeDocument() throws IOException {
+        return analysisService.analyzeDocument("bench.txt", new ByteArrayResource(uniqueContent()));
+    }
+
+    // Changes the first bytes so each call is a new document rather than a dedup hit.
+    private byte[] uniqueContent() {
+        long value = ++counter;
+        for (int i = 0; i < 8; i++) {
+            content[i] = (byte) ('a' + (value >>> (i * 4) & 0xF));
+        }
+        return content;
+    }
+}
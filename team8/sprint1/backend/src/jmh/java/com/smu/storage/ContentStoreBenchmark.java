@@ -0,0 +1,135 @@
+package com.smu.storage;
+
+import com.smu.analysis.CorpusGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Write and read throughput of the on-disk blob store against storing the same
+ * text in a Lob column over JDBC. The Lob side defaults to in-memory H2; point
+ * it at MySQL with -p jdbcUrl=... -p user=... -p password=... -p lobType=LONGTEXT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentStoreBenchmark {
+
+    @Param({"65536", "1048576", "16777216"})
+    public int size;
+
+    @Param("jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1")
+    public String jdbcUrl;
+
+    @Param("sa")
+    public String user;
+
+    @Param("")
+    public String password;
+
+    @Param("CLOB")
+    public String lobType;
+
+    private Path directory;
+    private FileSystemContentStore store;
+    private byte[] content;
+    private String text;
+    private String storedKey;
+    private long storedId;
+    private long counter;
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        content = new CorpusGenerator(50_000, 1).generate(size, 7).getBytes(StandardCharsets.UTF_8);
+        text = new String(content, StandardCharsets.UTF_8);
+
+        directory = Files.createTempDirectory("blob-bench");
+        store = new FileSystemContentStore(directory.toString(), 6);
+        storedKey = store.store(new ByteArrayInputStream(content)).getKey();
+
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS lob_bench");
+            statement.execute("CREATE TABLE lob_bench (id BIGINT AUTO_INCREMENT PRIMARY KEY, content " + lobType + ")");
+        }
+        storedId = insertLob(text);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE lob_bench");
+        }
+        connection.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public StoredContent writeBlobStore() throws IOException {
+        return store.store(new ByteArrayInputStream(uniqueContent()));
+    }
+
+    @Benchmark
+    public void readBlobStore(Blackhole blackhole) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = store.open(storedKey)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                blackhole.consume(read);
+            }
+        }
+    }
+
+    @Benchmark
+    public long writeLob() throws SQLException {
+        return insertLob(new String(uniqueContent(), StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public String readLob() throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT content FROM lob_bench WHERE id = ?")) {
+            select.setLong(1, storedId);
+            try (ResultSet rows = select.executeQuery()) {
+                rows.next();
+                return rows.getString(1);
+            }
+        }
+    }
+
+    // Changes the first bytes so each write is new content rather than a dedup hit.
+    private byte[] uniqueContent() {
+        long value = ++counter;
+        for (int i = 0; i < 8; i++) {
+            content[i] = (byte) ('a' + (value >>> (i * 4) & 0xF));
+        }
+        return content;
+    }
+
+    private long insertLob(String value) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO lob_bench (content) VALUES (?)", Statement.RETURN_GENERATED_KEYS)) {
+            insert.setString(1, value);
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.smu;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ResearcherAnalyticsApplication {
     public static void main(String[] args) {
         SpringApplication.run(ResearcherAnalyticsApplication.class, args);
@@ -0,0 +1,92 @@
+package com.smu.analysis;
+
+/**
+ * Count-min sketch over 64-bit keys. With width ceil(e / epsilon) and depth
+ * ceil(ln(1 / delta)), an estimate exceeds the true count by more than
+ * epsilon * (total count) with probability at most delta. It never
+ * underestimates. Memory is width * depth ints, whatever the input size.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final int[] table;
+    private long total;
+
+    public CountMinSketch(double epsilon, double delta) {
+        this((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1 / delta)));
+    }
+
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("Sketch width and depth must be positive");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.table = new int[width * depth];
+    }
+
+    // An empty sketch with the same dimensions, so the two can be merged.
+    public CountMinSketch emptyCopy() {
+        return new CountMinSketch(width, depth);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long memoryBytes() {
+        return (long) table.length * Integer.BYTES;
+    }
+
+    // Conservative update: only the row counters at the current minimum grow,
+    // which keeps the same guarantee with less overestimation. Returns the new estimate.
+    public int add(long key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, table[index(key, row)]);
+        }
+        int updated = estimate + 1;
+        for (int row = 0; row < depth; row++) {
+            int i = index(key, row);
+            if (table[i] < updated) {
+                table[i] = updated;
+            }
+        }
+        total++;
+        return updated;
+    }
+
+    public int estimate(long key) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, table[index(key, row)]);
+        }
+        return estimate;
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Sketches have different dimensions");
+        }
+        for (int i = 0; i < table.length; i++) {
+            table[i] += other.table[i];
+        }
+        total += other.total;
+    }
+
+    private int index(long key, int row) {
+        long h = mix(key + (row + 1) * 0x9E3779B97F4A7C15L);
+        return row * width + (int) Long.remainderUnsigned(h, width);
+    }
+
+    // MurmurHash3 fmix64 finalizer.
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53c03c5L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
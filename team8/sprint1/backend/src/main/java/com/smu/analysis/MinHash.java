@@ -0,0 +1,112 @@
+package com.smu.analysis;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signature over the 3-word shingles of a document. The fraction of
+ * positions at which two signatures agree estimates the Jaccard similarity of
+ * their shingle sets. Consumes the normalized token stream from
+ * {@link TermCounter}; stopwords are skipped.
+ */
+public class MinHash implements StreamingTokenizer.TokenSink {
+
+    private static final int SHINGLE_SIZE = 3;
+
+    // Fixed seed: signatures are persisted and must stay comparable across restarts.
+    private static final long SEED = 0x4D696E48617368L;
+
+    private final long[] multipliers;
+    private final long[] increments;
+    private final int[] minimums;
+
+    private final long[] window = new long[SHINGLE_SIZE];
+    private int windowSize;
+
+    public MinHash(int numHashes) {
+        if (numHashes <= 0) {
+            throw new IllegalArgumentException("MinHash needs at least one hash function");
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+        multipliers = new long[numHashes];
+        increments = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            multipliers[i] = random.nextLong() | 1;
+            increments[i] = random.nextLong();
+        }
+        minimums = new int[numHashes];
+        Arrays.fill(minimums, Integer.MAX_VALUE);
+    }
+
+    // An empty signature with the same hash functions, so the two can be merged.
+    public MinHash emptyCopy() {
+        return new MinHash(minimums.length);
+    }
+
+    @Override
+    public void accept(char[] chars, int length) {
+        if (length <= 0) {
+            return;
+        }
+        System.arraycopy(window, 1, window, 0, SHINGLE_SIZE - 1);
+        window[SHINGLE_SIZE - 1] = PhraseCounter.hash(chars, length);
+        if (windowSize < SHINGLE_SIZE) {
+            windowSize++;
+        }
+        if (windowSize < SHINGLE_SIZE) {
+            return;
+        }
+
+        long shingle = 0;
+        for (long token : window) {
+            shingle = CountMinSketch.mix(shingle * 31 + token);
+        }
+        // Multiply-shift hashing: one multiply and add per function, top 31 bits kept.
+        for (int i = 0; i < minimums.length; i++) {
+            int h = (int) ((multipliers[i] * shingle + increments[i]) >>> 33);
+            if (h < minimums[i]) {
+                minimums[i] = h;
+            }
+        }
+    }
+
+    // Merges a signature built over another part of the same text.
+    public void merge(MinHash other) {
+        for (int i = 0; i < minimums.length; i++) {
+            minimums[i] = Math.min(minimums[i], other.minimums[i]);
+        }
+    }
+
+    // True when the text had fewer than SHINGLE_SIZE tokens.
+    public boolean isEmpty() {
+        return minimums[0] == Integer.MAX_VALUE;
+    }
+
+    public int[] signature() {
+        return minimums.clone();
+    }
+
+    // Estimated Jaccard similarity of the two shingle sets.
+    public static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    public static byte[] toBytes(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(signature.length * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    public static int[] fromBytes(byte[] bytes) {
+        int[] signature = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+}
@@ -0,0 +1,164 @@
+package com.smu.analysis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Map-reduce term counting for large UTF-8 inputs. The stream is cut into
+ * chunks at ASCII non-word bytes, each chunk is counted on the pool into its
+ * own table, and the tables are merged. The result is identical to
+ * {@link StreamingTokenizer#countTerms} because no word (and no multi-byte
+ * character) ever spans two chunks.
+ *
+ * <p>At most two chunks per pool thread are in memory at once, so heap use
+ * depends on the chunk size rather than the input size.
+ */
+public class ParallelTermCounter {
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final TermNormalizer normalizer;
+
+    public ParallelTermCounter(ForkJoinPool pool, int chunkSize) {
+        this(pool, chunkSize, TermNormalizer.NONE);
+    }
+
+    public ParallelTermCounter(ForkJoinPool pool, int chunkSize, TermNormalizer normalizer) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.normalizer = normalizer;
+    }
+
+    public Map<String, Integer> countTerms(InputStream in, int minLength) throws IOException {
+        return countTerms(in, minLength, null);
+    }
+
+    public Map<String, Integer> countTerms(InputStream in, int minLength, PhraseCounter phrases) throws IOException {
+        return countTerms(in, minLength, phrases, null);
+    }
+
+    // When phrases or signature is given, each chunk also fills its own copy, merged
+    // in at the end. Phrases and shingles that span a chunk boundary are not counted.
+    public Map<String, Integer> countTerms(InputStream in, int minLength, PhraseCounter phrases,
+                                           MinHash signature) throws IOException {
+        int maxInFlight = pool.getParallelism() * 2;
+        Deque<Future<ChunkCounts>> inFlight = new ArrayDeque<>();
+        Map<String, Integer> total = new HashMap<>();
+
+        byte[] carry = new byte[0];
+        boolean eof = false;
+        while (!eof) {
+            byte[] chunk = Arrays.copyOf(carry, chunkSize + carry.length);
+            int filled = carry.length;
+            int read;
+            while (filled < chunk.length && (read = in.read(chunk, filled, chunk.length - filled)) != -1) {
+                filled += read;
+            }
+            eof = filled < chunk.length;
+
+            // Cut after the last separator; the partial word at the end moves to the next chunk.
+            int cut = eof ? filled : lastBoundary(chunk, filled);
+            if (cut < 0) {
+                // One enormous word; keep growing the chunk until it ends.
+                carry = Arrays.copyOf(chunk, filled);
+                continue;
+            }
+            carry = Arrays.copyOfRange(chunk, cut, filled);
+
+            byte[] bytes = chunk;
+            int length = cut;
+            PhraseCounter chunkPhrases = phrases == null ? null : phrases.emptyCopy();
+            MinHash chunkSignature = signature == null ? null : signature.emptyCopy();
+            inFlight.add(pool.submit(() -> countChunk(bytes, length, minLength, chunkPhrases, chunkSignature)));
+            if (inFlight.size() >= maxInFlight) {
+                merge(total, phrases, signature, await(inFlight.poll()));
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            merge(total, phrases, signature, await(inFlight.poll()));
+        }
+        return total;
+    }
+
+    // Index just past the last ASCII byte that cannot be part of a word, or -1.
+    // Bytes >= 0x80 are never used: they may be inside a multi-byte character.
+    static int lastBoundary(byte[] bytes, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            byte b = bytes[i];
+            if (b >= 0 && !StreamingTokenizer.isWordChar(Character.toLowerCase((char) b))) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static class ChunkCounts {
+        final Map<String, Integer> terms;
+        final PhraseCounter phrases;
+        final MinHash signature;
+
+        ChunkCounts(Map<String, Integer> terms, PhraseCounter phrases, MinHash signature) {
+            this.terms = terms;
+            this.phrases = phrases;
+            this.signature = signature;
+        }
+    }
+
+    private ChunkCounts countChunk(byte[] bytes, int length, int minLength, PhraseCounter phrases,
+                                   MinHash signature) {
+        // Same replacement of malformed input as InputStreamReader, without an intermediate String.
+        CharBuffer chars;
+        try {
+            chars = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .decode(ByteBuffer.wrap(bytes, 0, length));
+        } catch (CharacterCodingException e) {
+            throw new IllegalStateException(e);
+        }
+        StreamingTokenizer tokenizer = new StreamingTokenizer();
+        StreamingTokenizer.TokenSink next = phrases;
+        if (signature != null) {
+            next = next == null ? signature : StreamingTokenizer.TokenSink.both(phrases, signature);
+        }
+        TermCounter counter = new TermCounter(normalizer, minLength, next);
+        tokenizer.feed(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining(), counter);
+        tokenizer.finish(counter);
+        return new ChunkCounts(counter.toMap(), phrases, signature);
+    }
+
+    private static void merge(Map<String, Integer> total, PhraseCounter phrases, MinHash signature,
+                              ChunkCounts part) {
+        part.terms.forEach((term, count) -> total.merge(term, count, Integer::sum));
+        if (phrases != null) {
+            phrases.merge(part.phrases);
+        }
+        if (signature != null) {
+            signature.merge(part.signature);
+        }
+    }
+
+    private static ChunkCounts await(Future<ChunkCounts> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Counting interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.smu.analysis;
+
+import java.util.*;
+
+/**
+ * Approximate bigram and trigram counts in fixed memory. N-grams are hashed
+ * into a {@link CountMinSketch}, and the most frequent ones are tracked in a
+ * small candidate table. A phrase String is only built when an n-gram enters
+ * that table. Consumes the normalized token stream from {@link TermCounter};
+ * stopwords and very short tokens break phrases.
+ */
+public class PhraseCounter implements StreamingTokenizer.TokenSink {
+
+    private static final int MIN_PART_LENGTH = 3;
+    private static final int MAX_N = 3;
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<Long, Candidate> candidates = new HashMap<>();
+    private int minCandidate;
+
+    // The last MAX_N tokens, as reused char buffers plus their hashes.
+    private final char[][] window = new char[MAX_N][32];
+    private final int[] windowLengths = new int[MAX_N];
+    private final long[] windowHashes = new long[MAX_N];
+    private int windowSize;
+    private int windowStart;
+
+    private static class Candidate {
+        final String phrase;
+        int estimate;
+
+        Candidate(String phrase, int estimate) {
+            this.phrase = phrase;
+            this.estimate = estimate;
+        }
+    }
+
+    public PhraseCounter(CountMinSketch sketch, int capacity) {
+        this.sketch = sketch;
+        this.capacity = capacity;
+    }
+
+    // An empty counter that can later be merged into this one.
+    public PhraseCounter emptyCopy() {
+        return new PhraseCounter(sketch.emptyCopy(), capacity);
+    }
+
+    @Override
+    public void accept(char[] chars, int length) {
+        if (length < MIN_PART_LENGTH) {
+            windowSize = 0;
+            return;
+        }
+        int slot = (windowStart + windowSize) % MAX_N;
+        if (windowSize == MAX_N) {
+            windowStart = (windowStart + 1) % MAX_N;
+            slot = (windowStart + MAX_N - 1) % MAX_N;
+        } else {
+            windowSize++;
+        }
+        if (window[slot].length < length) {
+            window[slot] = new char[Math.max(length, window[slot].length * 2)];
+        }
+        System.arraycopy(chars, 0, window[slot], 0, length);
+        windowLengths[slot] = length;
+        windowHashes[slot] = hash(chars, length);
+
+        // Every n-gram (n >= 2) that ends with this token.
+        long key = windowHashes[slot];
+        for (int n = 2; n <= windowSize; n++) {
+            int previous = (windowStart + windowSize - n) % MAX_N;
+            key = CountMinSketch.mix(key * 31 + windowHashes[previous] + n);
+            offer(key, sketch.add(key), n);
+        }
+    }
+
+    private void offer(long key, int estimate, int n) {
+        Candidate candidate = candidates.get(key);
+        if (candidate != null) {
+            candidate.estimate = estimate;
+            return;
+        }
+        if (candidates.size() < capacity) {
+            candidates.put(key, new Candidate(phrase(n), estimate));
+            minCandidate = candidates.size() == 1 ? estimate : Math.min(minCandidate, estimate);
+            return;
+        }
+        if (estimate <= minCandidate) {
+            return;
+        }
+        // The cached minimum may be stale; find the real one before evicting.
+        Map.Entry<Long, Candidate> weakest = null;
+        for (Map.Entry<Long, Candidate> entry : candidates.entrySet()) {
+            if (weakest == null || entry.getValue().estimate < weakest.getValue().estimate) {
+                weakest = entry;
+            }
+        }
+        if (estimate > weakest.getValue().estimate) {
+            candidates.remove(weakest.getKey());
+            candidates.put(key, new Candidate(phrase(n), estimate));
+        }
+        minCandidate = Integer.MAX_VALUE;
+        for (Candidate c : candidates.values()) {
+            minCandidate = Math.min(minCandidate, c.estimate);
+        }
+    }
+
+    // The phrase made of the last n tokens in the window.
+    private String phrase(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = windowSize - n; i < windowSize; i++) {
+            int slot = (windowStart + i) % MAX_N;
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(window[slot], 0, windowLengths[slot]);
+        }
+        return sb.toString();
+    }
+
+    // Merges a counter built over another part of the same text.
+    public void merge(PhraseCounter other) {
+        sketch.merge(other.sketch);
+        Map<Long, String> phrases = new HashMap<>();
+        candidates.forEach((key, c) -> phrases.put(key, c.phrase));
+        other.candidates.forEach((key, c) -> phrases.putIfAbsent(key, c.phrase));
+
+        List<Map.Entry<Long, String>> ranked = new ArrayList<>(phrases.entrySet());
+        ranked.sort(Comparator.comparingInt((Map.Entry<Long, String> e) -> sketch.estimate(e.getKey())).reversed()
+                .thenComparing(Map.Entry::getValue));
+        candidates.clear();
+        minCandidate = Integer.MAX_VALUE;
+        for (Map.Entry<Long, String> entry : ranked.subList(0, Math.min(capacity, ranked.size()))) {
+            int estimate = sketch.estimate(entry.getKey());
+            candidates.put(entry.getKey(), new Candidate(entry.getValue(), estimate));
+            minCandidate = Math.min(minCandidate, estimate);
+        }
+    }
+
+    // The k most frequent phrases with their estimated counts, highest first.
+    public LinkedHashMap<String, Integer> top(int k) {
+        List<Candidate> ranked = new ArrayList<>(candidates.values());
+        ranked.sort(Comparator.comparingInt((Candidate c) -> c.estimate).reversed()
+                .thenComparing(c -> c.phrase));
+        LinkedHashMap<String, Integer> top = new LinkedHashMap<>();
+        for (Candidate c : ranked.subList(0, Math.min(k, ranked.size()))) {
+            top.put(c.phrase, c.estimate);
+        }
+        return top;
+    }
+
+    // FNV-1a over the token's chars.
+    static long hash(char[] chars, int length) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < length; i++) {
+            h ^= chars[i];
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
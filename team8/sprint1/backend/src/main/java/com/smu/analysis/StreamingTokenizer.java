@@ -0,0 +1,126 @@
+package com.smu.analysis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Splits text into lower-case words while reading it in fixed-size chunks.
+ * Produces the same words as {@code text.toLowerCase().split("\\W+")} without
+ * holding the whole text, its lower-case copy or the token array in memory.
+ */
+public class StreamingTokenizer {
+
+    public static final int BUFFER_SIZE = 8192;
+
+    // Only words longer than this are counted as keywords.
+    public static final int MIN_KEYWORD_LENGTH = 5;
+
+    public interface TokenSink {
+        // chars[0..length) holds the current word; the array is reused for the next one.
+        void accept(char[] chars, int length);
+
+        // Passes every token to first, then to second.
+        static TokenSink both(TokenSink first, TokenSink second) {
+            return (chars, length) -> {
+                first.accept(chars, length);
+                second.accept(chars, length);
+            };
+        }
+    }
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private char[] word = new char[64];
+    private int wordLength;
+
+    public void tokenize(InputStream in, Charset charset, TokenSink sink) throws IOException {
+        tokenize(new InputStreamReader(in, charset), sink);
+    }
+
+    public void tokenize(Reader reader, TokenSink sink) throws IOException {
+        wordLength = 0;
+        int read;
+        while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+            feed(buffer, 0, read, sink);
+        }
+        finish(sink);
+    }
+
+    // Feeds one chunk of text. A word may span chunks; it is emitted once a
+    // non-word character (or finish) is seen.
+    public void feed(char[] chars, int offset, int length, TokenSink sink) {
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c == '\u0130') {
+                // String.toLowerCase turns this into 'i' plus a combining dot,
+                // which split("\\W+") treats as a word break.
+                append('i');
+                flush(sink);
+                continue;
+            }
+            char lower = Character.toLowerCase(c);
+            if (isWordChar(lower)) {
+                append(lower);
+            } else {
+                flush(sink);
+            }
+        }
+    }
+
+    public void finish(TokenSink sink) {
+        flush(sink);
+    }
+
+    // Same character class as the regex \w: [a-zA-Z_0-9], checked after lower-casing.
+    static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private void append(char c) {
+        if (wordLength == word.length) {
+            char[] grown = new char[word.length * 2];
+            System.arraycopy(word, 0, grown, 0, wordLength);
+            word = grown;
+        }
+        word[wordLength++] = c;
+    }
+
+    private void flush(TokenSink sink) {
+        if (wordLength > 0) {
+            sink.accept(word, wordLength);
+            wordLength = 0;
+        }
+    }
+
+    // Counts keywords (words longer than four characters) straight from the stream.
+    public static Map<String, Integer> countKeywords(InputStream in, Charset charset) throws IOException {
+        return countTerms(in, charset, MIN_KEYWORD_LENGTH);
+    }
+
+    public static Map<String, Integer> countTerms(InputStream in, Charset charset, int minLength) throws IOException {
+        return countTerms(in, charset, minLength, TermNormalizer.NONE);
+    }
+
+    public static Map<String, Integer> countTerms(InputStream in, Charset charset, int minLength,
+                                                  TermNormalizer normalizer) throws IOException {
+        TermCounter counter = new TermCounter(normalizer, minLength);
+        new StreamingTokenizer().tokenize(in, charset, counter);
+        return counter.toMap();
+    }
+
+    // Keyword counts are the subset of all-term counts with long enough terms.
+    public static Map<String, Integer> keywordsOf(Map<String, Integer> termCounts) {
+        Map<String, Integer> keywords = new HashMap<>();
+        termCounts.forEach((term, count) -> {
+            if (term.length() >= MIN_KEYWORD_LENGTH) {
+                keywords.put(term, count);
+            }
+        });
+        return keywords;
+    }
+}
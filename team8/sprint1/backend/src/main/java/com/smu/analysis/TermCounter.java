@@ -0,0 +1,90 @@
+package com.smu.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Counts tokens into a plain int[] indexed by term ID. The hot path does no
+ * boxing and allocates nothing per token; a String is created once per
+ * distinct term, when the dictionary first sees it.
+ */
+public class TermCounter implements StreamingTokenizer.TokenSink {
+
+    private final TermNormalizer normalizer;
+    private final int minLength;
+    private final TermDictionary dictionary = new TermDictionary();
+    private int[] counts = new int[64];
+
+    // Optional consumer of the normalized token stream; gets length -1 for a dropped stopword.
+    private final StreamingTokenizer.TokenSink next;
+
+    public TermCounter(TermNormalizer normalizer, int minLength) {
+        this(normalizer, minLength, null);
+    }
+
+    public TermCounter(TermNormalizer normalizer, int minLength, StreamingTokenizer.TokenSink next) {
+        this.normalizer = normalizer;
+        this.minLength = minLength;
+        this.next = next;
+    }
+
+    @Override
+    public void accept(char[] chars, int length) {
+        length = normalizer.normalize(chars, length);
+        if (next != null) {
+            next.accept(chars, length);
+        }
+        if (length < minLength) {
+            return;
+        }
+        int id = dictionary.add(chars, length);
+        if (id == counts.length) {
+            counts = Arrays.copyOf(counts, id * 2);
+        }
+        counts[id]++;
+    }
+
+    public int distinctTerms() {
+        return dictionary.size();
+    }
+
+    // The k most frequent terms at least minLength long, ranked like TopK.select,
+    // without building the map. Cheap enough to call while counting is under way.
+    public List<String> top(int k, int minLength) {
+        Comparator<Integer> ranking = Comparator.comparingInt((Integer id) -> counts[id]).reversed()
+                .thenComparing(dictionary::term);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, ranking.reversed());
+        for (int id = 0; id < dictionary.size(); id++) {
+            if (dictionary.term(id).length() < minLength) {
+                continue;
+            }
+            if (heap.size() < k) {
+                heap.add(id);
+            } else if (ranking.compare(id, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(id);
+            }
+        }
+        List<String> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            top.add(dictionary.term(heap.poll()));
+        }
+        Collections.reverse(top);
+        return top;
+    }
+
+    // Boxes once per distinct term, for callers that work with maps.
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> map = new HashMap<>(dictionary.size() * 2);
+        for (int id = 0; id < dictionary.size(); id++) {
+            map.put(dictionary.term(id), counts[id]);
+        }
+        return map;
+    }
+}
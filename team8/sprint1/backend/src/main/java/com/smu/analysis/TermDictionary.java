@@ -0,0 +1,112 @@
+package com.smu.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Interns terms to dense int IDs. Lookups take the tokenizer's char buffer
+ * directly, so a String is only created the first time a term is seen.
+ */
+public class TermDictionary {
+
+    private String[] terms = new String[64];
+    private int[] hashes = new int[64];
+    private int size;
+
+    // Open addressing with linear probing; a slot holds id + 1, 0 means empty.
+    private int[] slots = new int[128];
+
+    public int size() {
+        return size;
+    }
+
+    public String term(int id) {
+        return terms[id];
+    }
+
+    // Returns the ID of chars[0..length), or -1 if the term is unknown.
+    public int idOf(char[] chars, int length) {
+        int hash = hash(chars, length);
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int id = entry - 1;
+            if (hashes[id] == hash && matches(terms[id], chars, length)) {
+                return id;
+            }
+        }
+    }
+
+    // Returns the ID of chars[0..length), adding the term if it is new.
+    public int add(char[] chars, int length) {
+        int hash = hash(chars, length);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        for (; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot];
+            if (entry == 0) {
+                break;
+            }
+            int id = entry - 1;
+            if (hashes[id] == hash && matches(terms[id], chars, length)) {
+                return id;
+            }
+        }
+
+        int id = size++;
+        if (id == terms.length) {
+            terms = Arrays.copyOf(terms, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+        }
+        terms[id] = new String(chars, 0, length);
+        hashes[id] = hash;
+        slots[slot] = id + 1;
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    public int idOf(String term) {
+        return idOf(term.toCharArray(), term.length());
+    }
+
+    public int add(String term) {
+        return add(term.toCharArray(), term.length());
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id + 1;
+        }
+    }
+
+    private static int hash(char[] chars, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars[i];
+        }
+        // Spread the bits so that masking to the table size works well.
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean matches(String term, char[] chars, int length) {
+        if (term.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (term.charAt(i) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package com.smu.analysis;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Drops stopwords and applies a light plural stemmer to a token in place, so
+ * that for example "analysis" and "analyses" are counted as one term.
+ */
+public class TermNormalizer {
+
+    // Leaves every token unchanged.
+    public static final TermNormalizer NONE = new TermNormalizer(List.of(), false);
+
+    public static final List<String> DEFAULT_STOPWORDS = List.of(
+            "a", "about", "above", "after", "again", "against", "all", "also", "an", "and", "any", "are",
+            "as", "at", "be", "because", "been", "before", "being", "below", "between", "both", "but", "by",
+            "can", "could", "did", "do", "does", "doing", "down", "during", "each", "few", "for", "from",
+            "further", "had", "has", "have", "having", "he", "her", "here", "hers", "him", "his", "how",
+            "however", "i", "if", "in", "into", "is", "it", "its", "itself", "just", "may", "me", "might",
+            "more", "most", "must", "my", "no", "nor", "not", "now", "of", "off", "on", "once", "only", "or",
+            "other", "our", "ours", "out", "over", "own", "same", "she", "should", "so", "some", "such",
+            "than", "that", "the", "their", "theirs", "them", "then", "there", "these", "they", "this",
+            "those", "through", "thus", "to", "too", "under", "until", "up", "upon", "very", "was", "we",
+            "were", "what", "when", "where", "whereas", "which", "while", "who", "whom", "why", "will",
+            "with", "within", "without", "would", "you", "your", "yours");
+
+    private final TermDictionary stopwords = new TermDictionary();
+    private final boolean stemming;
+
+    public TermNormalizer(Collection<String> stopwords, boolean stemming) {
+        for (String stopword : stopwords) {
+            this.stopwords.add(stopword.trim().toLowerCase(Locale.ROOT));
+        }
+        this.stemming = stemming;
+    }
+
+    // Returns the new length of chars[0..length), or -1 if the token is a stopword.
+    public int normalize(char[] chars, int length) {
+        if (stopwords.size() > 0 && stopwords.idOf(chars, length) >= 0) {
+            return -1;
+        }
+        return stemming ? stem(chars, length) : length;
+    }
+
+    public String normalize(String term) {
+        char[] chars = term.toCharArray();
+        int length = normalize(chars, chars.length);
+        return length < 0 ? null : new String(chars, 0, length);
+    }
+
+    // S-stemmer (Harman 1991) plus the Greek -sis/-ses plurals common in papers:
+    // analysis/analyses -> analys, hypothesis/hypotheses -> hypothes.
+    static int stem(char[] w, int n) {
+        if (n < 4 || w[n - 1] != 's') {
+            return n;
+        }
+        if ((endsWith(w, n, "sis") || endsWith(w, n, "ses")) && (w[n - 4] == 'y' || w[n - 4] == 'e')) {
+            return n - 2;
+        }
+        if (endsWith(w, n, "ies") && !endsWith(w, n, "eies") && !endsWith(w, n, "aies")) {
+            w[n - 3] = 'y';
+            return n - 2;
+        }
+        if (endsWith(w, n, "es") && !endsWith(w, n, "aes") && !endsWith(w, n, "ees") && !endsWith(w, n, "oes")) {
+            return n - 1;
+        }
+        if (!endsWith(w, n, "us") && !endsWith(w, n, "ss") && !endsWith(w, n, "is")) {
+            return n - 1;
+        }
+        return n;
+    }
+
+    private static boolean endsWith(char[] w, int n, String suffix) {
+        int offset = n - suffix.length();
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (w[offset + i] != suffix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
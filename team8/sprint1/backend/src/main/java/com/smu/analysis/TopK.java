@@ -0,0 +1,43 @@
+package com.smu.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Selects the K most frequent terms with a bounded min-heap in O(n log K)
+ * instead of sorting every entry of the frequency table.
+ */
+public class TopK {
+
+    // Higher count first; ties broken alphabetically so results are deterministic.
+    public static final Comparator<Map.Entry<String, Integer>> BY_COUNT_DESC =
+            Comparator.<Map.Entry<String, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                    .thenComparing(Map.Entry::getKey);
+
+    public static List<String> select(Map<String, Integer> freq, int k) {
+        if (k <= 0 || freq.isEmpty()) {
+            return List.of();
+        }
+        // The heap head is the weakest of the current top K.
+        PriorityQueue<Map.Entry<String, Integer>> heap = new PriorityQueue<>(k + 1, BY_COUNT_DESC.reversed());
+        for (Map.Entry<String, Integer> entry : freq.entrySet()) {
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (BY_COUNT_DESC.compare(entry, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+
+        List<String> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            top.add(heap.poll().getKey());
+        }
+        Collections.reverse(top);
+        return top;
+    }
+}
@@ -0,0 +1,27 @@
+package com.smu.config;
+
+import com.smu.analysis.TermNormalizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class AnalysisConfig {
+
+    // Shared by document analysis and search queries so both see the same terms.
+    // Stemming is off by default: counted terms are what keywords, topics and corpus
+    // analytics show, and stems such as "analys" read as typos. With it on, the
+    // keyword length cut-off also applies to the stem.
+    @Bean
+    public TermNormalizer termNormalizer(@Value("${analysis.stopwords.enabled:true}") boolean stopwordsEnabled,
+                                         @Value("${analysis.stopwords.list:}") List<String> stopwords,
+                                         @Value("${analysis.stemming.enabled:false}") boolean stemming) {
+        List<String> configured = stopwords.stream().filter(word -> !word.isBlank()).toList();
+        List<String> effective = !stopwordsEnabled ? List.of()
+                : configured.isEmpty() ? TermNormalizer.DEFAULT_STOPWORDS
+                : configured;
+        return new TermNormalizer(effective, stemming);
+    }
+}
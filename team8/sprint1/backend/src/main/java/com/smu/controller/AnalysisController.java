@@ -1,60 +1,142 @@
 package com.smu.controller;
 
-import com.smu.model.Document;
-import com.smu.repository.DocumentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smu.service.AnalysisJob;
+import com.smu.service.AnalysisJobService;
+import com.smu.service.AnalysisResultCache;
+import com.smu.service.AnalysisService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api")
 @CrossOrigin(origins = "http://localhost:3000")
 public class AnalysisController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    @Autowired
+    private AnalysisJobService analysisJobService;
+
+    @Autowired
+    private AnalysisResultCache analysisResultCache;
+
     @Autowired
-    private DocumentRepository documentRepository;
+    private ObjectMapper objectMapper;
 
+    // With async=true the upload is queued and a job ID is returned right away.
     @PostMapping("/analyze")
-    public ResponseEntity<Map<String, Object>> analyze(@RequestParam("file") MultipartFile file) throws IOException {
-        String text = new String(file.getBytes());
-
-        // Save to database
-        Document doc = new Document();
-        doc.setFilename(file.getOriginalFilename());
-        doc.setContent(text);
-        documentRepository.save(doc);
-
-        // Simple NLP simulation for demo:
-        String[] words = text.toLowerCase().split("\\W+");
-        Map<String, Integer> freq = new HashMap<>();
-        for (String word : words) {
-            if (word.length() > 4) {
-                freq.put(word, freq.getOrDefault(word, 0) + 1);
-            }
+    public ResponseEntity<Map<String, Object>> analyze(@RequestParam("file") MultipartFile file,
+                                                       @RequestParam(defaultValue = "false") boolean async) throws IOException {
+        if (!async) {
+            return ResponseEntity.ok(analysisService.analyzeDocument(file));
+        }
+
+        try {
+            AnalysisJob job = analysisJobService.submit(file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(describe(job));
+        } catch (RejectedExecutionException e) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("error", "Analysis queue is full, retry later");
+            body.put("queueDepth", analysisJobService.getQueueDepth());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "5")
+                    .body(body);
         }
+    }
 
-        List<String> topKeywords = freq.entrySet().stream()
-                .sorted((a, b) -> b.getValue() - a.getValue())
-                .limit(10)
-                .map(Map.Entry::getKey)
-                .toList();
-
-        List<Map<String, Object>> topicSummary = new ArrayList<>();
-        for (int i = 0; i < topKeywords.size(); i++) {
-            Map<String, Object> topic = new HashMap<>();
-            topic.put("label", topKeywords.get(i));
-            topic.put("score", Math.random() * 10); // Fake score for now
-            topicSummary.add(topic);
+    // Analyzes many files in one request; new documents are saved in a single transaction.
+    @PostMapping("/analyze/batch")
+    public ResponseEntity<Map<String, Object>> analyzeBatch(@RequestParam("files") List<MultipartFile> files) throws IOException {
+        if (files.isEmpty()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "No files uploaded"));
         }
+        return ResponseEntity.ok(analysisService.analyzeBatch(files));
+    }
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("keywords", topKeywords);
-        response.put("topics", topicSummary);
+    // Newline-delimited JSON: a "started" line right away, "progress" lines while the
+    // upload is stored (phase STORING) and counted (phase COUNTING, with the running
+    // top keywords), then the "result" or an "error". Closing the connection makes
+    // the next progress write fail, which stops the analysis.
+    @PostMapping("/analyze/stream")
+    public ResponseEntity<StreamingResponseBody> analyzeStream(@RequestParam("file") MultipartFile file) {
+        String filename = file.getOriginalFilename();
+        long totalBytes = file.getSize();
+        StreamingResponseBody body = out -> {
+            Map<String, Object> started = new HashMap<>();
+            started.put("type", "started");
+            started.put("filename", filename);
+            started.put("totalBytes", totalBytes);
+            writeLine(out, started);
 
-        return ResponseEntity.ok(response);
+            Map<String, Object> line;
+            try {
+                line = new HashMap<>(analysisService.analyzeDocument(filename, file, (phase, bytesProcessed, keywords) -> {
+                    Map<String, Object> progress = new HashMap<>();
+                    progress.put("type", "progress");
+                    progress.put("phase", phase);
+                    progress.put("bytesProcessed", bytesProcessed);
+                    progress.put("totalBytes", totalBytes);
+                    progress.put("keywords", keywords);
+                    writeLine(out, progress);
+                }));
+                line.put("type", "result");
+            } catch (RuntimeException | IOException e) {
+                // Storage and read failures end the stream with an error line too. If the
+                // client is gone, writing it fails as well and the response just ends.
+                line = new HashMap<>();
+                line.put("type", "error");
+                line.put("error", e.getMessage());
+            }
+            writeLine(out, line);
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    // Hit, miss and eviction counters for tuning analysis.cache.max-entries.
+    @GetMapping("/analyze/cache-stats")
+    public Map<String, Object> getCacheStats() {
+        return analysisResultCache.getStats();
+    }
+
+    @GetMapping("/analyze/{jobId}")
+    public ResponseEntity<Map<String, Object>> getJob(@PathVariable String jobId) {
+        return analysisJobService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(describe(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Flushed per line so the client sees each update as soon as it is written.
+    private void writeLine(OutputStream out, Map<String, Object> line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+        out.flush();
+    }
+
+    private Map<String, Object> describe(AnalysisJob job) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("jobId", job.getId());
+        body.put("filename", job.getFilename());
+        body.put("status", job.getStatus());
+        if (job.getResult() != null) {
+            body.put("result", job.getResult());
+        }
+        if (job.getError() != null) {
+            body.put("error", job.getError());
+        }
+        return body;
     }
-}
\ No newline at end of file
+}
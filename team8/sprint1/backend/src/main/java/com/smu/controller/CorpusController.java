@@ -0,0 +1,29 @@
+package com.smu.controller;
+
+import com.smu.service.CorpusAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.*;
+
+@RestController
+@RequestMapping("/api/corpus")
+@CrossOrigin(origins = "http://localhost:3000")
+public class CorpusController {
+
+    private static final int MAX_RESULTS = 1000;
+
+    @Autowired
+    private CorpusAnalyticsService corpusAnalyticsService;
+
+    @GetMapping("/top-terms")
+    public List<Map<String, Object>> topTerms(@RequestParam(defaultValue = "20") int limit) throws IOException {
+        return corpusAnalyticsService.topTerms(Math.min(Math.max(limit, 1), MAX_RESULTS));
+    }
+
+    @GetMapping("/terms/{term}/trend")
+    public List<Map<String, Object>> termTrend(@PathVariable String term) throws IOException {
+        return corpusAnalyticsService.termTrend(term);
+    }
+}
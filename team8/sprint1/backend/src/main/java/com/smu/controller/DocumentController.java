@@ -0,0 +1,37 @@
+package com.smu.controller;
+
+import com.smu.service.CorpusAnalyticsService;
+import com.smu.service.DocumentSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.*;
+
+@RestController
+@RequestMapping("/api/documents")
+@CrossOrigin(origins = "http://localhost:3000")
+public class DocumentController {
+
+    private static final int MAX_RESULTS = 100;
+
+    @Autowired
+    private DocumentSearchService documentSearchService;
+
+    @Autowired
+    private CorpusAnalyticsService corpusAnalyticsService;
+
+    @GetMapping("/search")
+    public List<Map<String, Object>> search(@RequestParam("q") String query,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        return documentSearchService.search(query, Math.min(Math.max(limit, 1), MAX_RESULTS));
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<Map<String, Object>>> similar(@PathVariable long id,
+                                                             @RequestParam(defaultValue = "10") int limit) throws IOException {
+        List<Map<String, Object>> similar = corpusAnalyticsService.similarDocuments(id, Math.min(Math.max(limit, 1), MAX_RESULTS));
+        return similar == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(similar);
+    }
+}
@@ -0,0 +1,429 @@
+package com.smu.index;
+
+import com.smu.analysis.StreamingTokenizer;
+import com.smu.analysis.TermNormalizer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Incremental inverted index over stored documents, ranked with BM25.
+ *
+ * <p>Every added document is applied in memory and appended to a journal. A
+ * background task periodically writes the compressed postings to a snapshot and
+ * starts a new journal, so a restart loads the snapshot and replays the journal
+ * tail without re-tokenizing any content. If a journal write fails, documents
+ * are kept in memory only until the next snapshot, which is then taken on the
+ * next run of the task.
+ */
+@Component
+public class InvertedIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(InvertedIndex.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x534D5549;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    // BM25 parameters.
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // writeUTF limit is 64 KB; real words never get close.
+    private static final int MAX_TERM_LENGTH = 255;
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+    // The journal being folded into a snapshot; deleted once the snapshot is in place.
+    private final Path compactingFile;
+    private final int snapshotEvery;
+
+    private final Map<String, PostingsList> postings = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private DataOutputStream journal;
+    // Length of the journal file when it was opened; journal.size() counts from there.
+    private long journalStart;
+    private int journalRecords;
+    // Length of the complete records in the journal file.
+    private long journalLength;
+    // Set while a journal moved aside (compactingFile) is not yet in a snapshot,
+    // so a failed snapshot is retried on the next run rather than after
+    // snapshotEvery more documents.
+    private boolean snapshotPending;
+    // Set when a journal write fails: the journal is no longer written, and only a
+    // snapshot saves what was added since.
+    private boolean journalBroken;
+
+    // One snapshot at a time.
+    private final Object compaction = new Object();
+
+    // Query terms go through the same stopword filter and stemmer as documents.
+    private final TermNormalizer normalizer;
+
+    public InvertedIndex(@Value("${analysis.index.directory:data/index}") String directory,
+                         @Value("${analysis.index.snapshot-every:1000}") int snapshotEvery,
+                         TermNormalizer normalizer) {
+        this.normalizer = normalizer;
+        Path root = Paths.get(directory).toAbsolutePath();
+        this.snapshotFile = root.resolve("postings.snapshot");
+        this.journalFile = root.resolve("postings.journal");
+        this.compactingFile = root.resolve("postings.journal.compacting");
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        Files.createDirectories(snapshotFile.getParent());
+        if (Files.exists(snapshotFile)) {
+            readSnapshot();
+        }
+        // A snapshot that failed last time leaves the journal it was folding in.
+        snapshotPending = Files.exists(compactingFile);
+        if (snapshotPending) {
+            journalRecords += replayJournal(compactingFile);
+        }
+        if (Files.exists(journalFile)) {
+            journalRecords += replayJournal(journalFile);
+        }
+        // replayJournal has cut off any torn tail, so new records follow intact ones.
+        openJournal(true);
+        if (journalRecords > 0 || snapshotPending) {
+            compact();
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        compact();
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Runs in the background, so no upload or search waits for the snapshot file.
+    @Scheduled(fixedDelayString = "${analysis.index.compact-interval-ms:10000}")
+    void compactIfDue() {
+        boolean due;
+        lock.readLock().lock();
+        try {
+            due = journalRecords >= snapshotEvery || journalBroken || snapshotPending;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (due) {
+            try {
+                compact();
+            } catch (IOException e) {
+                log.error("Writing the index snapshot failed; retrying on the next run", e);
+            }
+        }
+    }
+
+    // Writes everything added so far to a new snapshot. The lock is held only to
+    // take views of the postings and switch to a new journal; the file is written
+    // while searches and additions carry on.
+    void compact() throws IOException {
+        synchronized (compaction) {
+            Map<Long, Integer> lengths;
+            Map<String, PostingsList> views = new HashMap<>();
+            lock.writeLock().lock();
+            try {
+                if (journalRecords == 0 && !journalBroken && !snapshotPending) {
+                    return;
+                }
+                lengths = new HashMap<>(documentLengths);
+                postings.forEach((term, list) -> views.put(term, list.frozenView()));
+                rotateJournal();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            writeSnapshot(lengths, views);
+            // Everything in the old journal is now in the snapshot.
+            Files.deleteIfExists(compactingFile);
+            lock.writeLock().lock();
+            try {
+                snapshotPending = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return documentLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long docId) {
+        lock.readLock().lock();
+        try {
+            return documentLengths.containsKey(docId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // termCounts holds every term of the document with its frequency. Throws if the
+    // journal write fails; the document is searchable anyway and reaches disk with
+    // the next snapshot.
+    public void addDocument(long docId, Map<String, Integer> termCounts) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (documentLengths.containsKey(docId)) {
+                return;
+            }
+            int documentLength = 0;
+            Map<String, Integer> indexed = new HashMap<>();
+            for (Map.Entry<String, Integer> entry : termCounts.entrySet()) {
+                documentLength += entry.getValue();
+                // Over-long terms still count towards the document length.
+                if (entry.getKey().length() <= MAX_TERM_LENGTH) {
+                    indexed.put(entry.getKey(), entry.getValue());
+                }
+            }
+            apply(docId, documentLength, indexed);
+            if (journalBroken) {
+                return;
+            }
+            try {
+                writeJournalRecord(docId, documentLength, indexed);
+                journalRecords++;
+                journalLength = journalStart + journal.size();
+            } catch (IOException e) {
+                // A torn record must not be followed by more; stop writing until the next snapshot.
+                journalBroken = true;
+                throw e;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>();
+        try {
+            new StreamingTokenizer().tokenize(new StringReader(query), (chars, length) -> {
+                length = normalizer.normalize(chars, length);
+                if (length > 0) {
+                    terms.add(new String(chars, 0, length));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documentLengths.size();
+            double averageLength = documentCount == 0 ? 0 : (double) totalLength / documentCount;
+            for (String term : terms) {
+                PostingsList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                int df = list.getDocumentFrequency();
+                double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+                list.forEach((docId, tf) -> {
+                    double lengthNorm = 1 - B + B * documentLengths.get(docId) / averageLength;
+                    double score = idf * tf * (K1 + 1) / (tf + K1 * lengthNorm);
+                    scores.merge(docId, score, Double::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Bounded heap of the best hits; ties go to the older document.
+        Comparator<SearchHit> ranking = Comparator.comparingDouble(SearchHit::getScore).reversed()
+                .thenComparingLong(SearchHit::getDocId);
+        PriorityQueue<SearchHit> heap = new PriorityQueue<>(limit + 1, ranking.reversed());
+        scores.forEach((docId, score) -> {
+            SearchHit hit = new SearchHit(docId, score);
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (ranking.compare(hit, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        });
+        List<SearchHit> hits = new ArrayList<>(heap);
+        hits.sort(ranking);
+        return hits;
+    }
+
+    private void apply(long docId, int documentLength, Map<String, Integer> termCounts) {
+        for (Map.Entry<String, Integer> entry : termCounts.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new PostingsList()).add(docId, entry.getValue());
+        }
+        documentLengths.put(docId, documentLength);
+        totalLength += documentLength;
+    }
+
+    private void writeJournalRecord(long docId, int documentLength, Map<String, Integer> termCounts) throws IOException {
+        journal.writeLong(docId);
+        journal.writeInt(documentLength);
+        journal.writeInt(termCounts.size());
+        for (Map.Entry<String, Integer> entry : termCounts.entrySet()) {
+            journal.writeUTF(entry.getKey());
+            journal.writeInt(entry.getValue());
+        }
+        journal.flush();
+    }
+
+    // Applies the complete records and truncates the file after the last of them, so
+    // a record cut short by a crash is never followed by new ones.
+    private int replayJournal(Path file) throws IOException {
+        int records = 0;
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                long docId;
+                int documentLength;
+                long recordLength = Long.BYTES + Integer.BYTES * 2;
+                Map<String, Integer> termCounts = new HashMap<>();
+                try {
+                    docId = in.readLong();
+                    documentLength = in.readInt();
+                    int termCount = in.readInt();
+                    for (int i = 0; i < termCount; i++) {
+                        String term = in.readUTF();
+                        termCounts.put(term, in.readInt());
+                        recordLength += 2 + utfLength(term) + Integer.BYTES;
+                    }
+                } catch (EOFException e) {
+                    // End of the journal, or a record cut short by a crash before it was applied.
+                    break;
+                }
+                if (!documentLengths.containsKey(docId)) {
+                    apply(docId, documentLength, termCounts);
+                }
+                records++;
+                valid += recordLength;
+            }
+        }
+        if (Files.size(file) > valid) {
+            log.warn("Dropping an incomplete record at the end of {}", file);
+            truncate(file, valid);
+        }
+        return records;
+    }
+
+    private static void truncate(Path file, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+    }
+
+    // Bytes writeUTF uses for the string, excluding its 2-byte length prefix.
+    private static int utfLength(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            length += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        return length;
+    }
+
+    // Under the write lock. New records go to a fresh journal; the current one moves
+    // aside (or, if a snapshot failed before, is added to the one already there).
+    private void rotateJournal() throws IOException {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            // Only possible for a broken journal, whose contents the snapshot covers.
+        }
+        if (journalBroken) {
+            // Drop the torn record, so nothing is ever appended after it.
+            truncate(journalFile, journalLength);
+        }
+        if (Files.exists(compactingFile)) {
+            try (OutputStream out = Files.newOutputStream(compactingFile, StandardOpenOption.APPEND)) {
+                Files.copy(journalFile, out);
+            }
+            Files.delete(journalFile);
+        } else {
+            Files.move(journalFile, compactingFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        openJournal(false);
+        journalRecords = 0;
+        journalBroken = false;
+        snapshotPending = true;
+    }
+
+    private void writeSnapshot(Map<Long, Integer> lengths, Map<String, PostingsList> views) throws IOException {
+        Path temp = snapshotFile.resolveSibling("postings.snapshot.tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(lengths.size());
+            for (Map.Entry<Long, Integer> entry : lengths.entrySet()) {
+                out.writeLong(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            out.writeInt(views.size());
+            for (Map.Entry<String, PostingsList> entry : views.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+        }
+        Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void readSnapshot() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                throw new IOException("Unrecognized index snapshot " + snapshotFile);
+            }
+            int documentCount = in.readInt();
+            for (int i = 0; i < documentCount; i++) {
+                long docId = in.readLong();
+                int documentLength = in.readInt();
+                documentLengths.put(docId, documentLength);
+                totalLength += documentLength;
+            }
+            int termCount = in.readInt();
+            for (int i = 0; i < termCount; i++) {
+                postings.put(in.readUTF(), PostingsList.readFrom(in));
+            }
+        }
+    }
+
+    private void openJournal(boolean append) throws IOException {
+        OutputStream out = append
+                ? Files.newOutputStream(journalFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : Files.newOutputStream(journalFile);
+        journal = new DataOutputStream(new BufferedOutputStream(out));
+        journalStart = append ? Files.size(journalFile) : 0;
+        journalLength = journalStart;
+    }
+}
@@ -0,0 +1,20 @@
+package com.smu.index;
+
+public class NearDuplicate {
+
+    private final long docId;
+    private final double similarity;
+
+    public NearDuplicate(long docId, double similarity) {
+        this.docId = docId;
+        this.similarity = similarity;
+    }
+
+    public long getDocId() {
+        return docId;
+    }
+
+    public double getSimilarity() {
+        return similarity;
+    }
+}
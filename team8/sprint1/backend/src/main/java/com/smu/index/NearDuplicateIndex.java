@@ -0,0 +1,143 @@
+package com.smu.index;
+
+import com.smu.analysis.MinHash;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing over the MinHash signatures of stored documents.
+ * Each signature is cut into bands, and documents sharing any band are
+ * candidates; candidates are then checked against the Jaccard threshold. A
+ * lookup only touches the buckets of its own bands, so its cost does not grow
+ * with the corpus.
+ *
+ * <p>Signatures are persisted on the {@code document} row and loaded from there
+ * at startup.
+ */
+@Component
+// The schema has to be in place before the signatures are loaded.
+@DependsOn("entityManagerFactory")
+public class NearDuplicateIndex {
+
+    private static final String LOAD_SQL =
+            "SELECT id, minhash_signature FROM document WHERE minhash_signature IS NOT NULL";
+
+    private final int numHashes;
+    private final double threshold;
+    private final int bands;
+    private final int rows;
+
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    // Band key -> documents whose signature has that band.
+    private final Map<Long, List<Long>> buckets = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NearDuplicateIndex(@Value("${analysis.near-duplicates.num-hashes:128}") int numHashes,
+                              @Value("${analysis.near-duplicates.threshold:0.8}") double threshold,
+                              JdbcTemplate jdbcTemplate) {
+        this.numHashes = numHashes;
+        this.threshold = threshold;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rows = rowsPerBand(numHashes, threshold);
+        this.bands = numHashes / rows;
+    }
+
+    // The LSH S-curve is steepest around (1 / bands) ^ (1 / rows). Picks the most
+    // rows per band that keeps that point below the threshold, so near-duplicates
+    // are rarely missed while few unrelated documents become candidates.
+    static int rowsPerBand(int numHashes, double threshold) {
+        int best = 1;
+        for (int r = 1; r <= numHashes; r++) {
+            if (numHashes % r == 0 && Math.pow(1.0 / (numHashes / r), 1.0 / r) < threshold) {
+                best = r;
+            }
+        }
+        return best;
+    }
+
+    @PostConstruct
+    void load() {
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            int[] signature = MinHash.fromBytes(rs.getBytes(2));
+            // Signatures made with another num-hashes setting cannot be compared.
+            if (signature.length == numHashes) {
+                add(rs.getLong(1), signature);
+            }
+        });
+    }
+
+    public MinHash newSignature() {
+        return new MinHash(numHashes);
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(long docId, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            if (signatures.putIfAbsent(docId, signature) != null) {
+                return;
+            }
+            for (int band = 0; band < bands; band++) {
+                buckets.computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(1)).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Stored documents whose estimated similarity is at least the threshold, most similar first.
+    public List<NearDuplicate> find(int[] signature, int limit) {
+        List<NearDuplicate> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = new HashSet<>();
+            for (int band = 0; band < bands; band++) {
+                List<Long> bucket = buckets.get(bandKey(signature, band));
+                if (bucket != null) {
+                    candidates.addAll(bucket);
+                }
+            }
+            for (long docId : candidates) {
+                double similarity = MinHash.similarity(signature, signatures.get(docId));
+                if (similarity >= threshold) {
+                    matches.add(new NearDuplicate(docId, similarity));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingDouble(NearDuplicate::getSimilarity).reversed()
+                .thenComparingLong(NearDuplicate::getDocId));
+        return matches.subList(0, Math.min(limit, matches.size()));
+    }
+
+    private long bandKey(int[] signature, int band) {
+        int h = 1;
+        for (int i = band * rows; i < (band + 1) * rows; i++) {
+            h = 31 * h + signature[i];
+        }
+        return ((long) band << 32) | (h & 0xFFFFFFFFL);
+    }
+}
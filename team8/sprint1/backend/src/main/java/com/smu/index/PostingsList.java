@@ -0,0 +1,134 @@
+package com.smu.index;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Postings for one term as (document ID, term frequency) pairs, kept sorted by
+ * document ID. Each pair is stored as a varint delta from the previous ID
+ * followed by a varint frequency, so a typical posting takes 2-3 bytes.
+ */
+public class PostingsList {
+
+    public interface PostingConsumer {
+        void accept(long docId, int termFrequency);
+    }
+
+    private byte[] data = new byte[8];
+    private int length;
+    private long lastDocId;
+    private int documentFrequency;
+
+    public int getDocumentFrequency() {
+        return documentFrequency;
+    }
+
+    public void add(long docId, int termFrequency) {
+        if (documentFrequency > 0 && docId <= lastDocId) {
+            // Commits can finish out of ID order; re-encode in that rare case.
+            insertOutOfOrder(docId, termFrequency);
+            return;
+        }
+        writeVarLong(docId - lastDocId);
+        writeVarLong(termFrequency);
+        lastDocId = docId;
+        documentFrequency++;
+    }
+
+    public void forEach(PostingConsumer consumer) {
+        int[] position = {0};
+        long docId = 0;
+        for (int i = 0; i < documentFrequency; i++) {
+            docId += readVarLong(data, position);
+            consumer.accept(docId, (int) readVarLong(data, position));
+        }
+    }
+
+    private void insertOutOfOrder(long docId, int termFrequency) {
+        long[] ids = new long[documentFrequency + 1];
+        int[] frequencies = new int[documentFrequency + 1];
+        int[] count = {0};
+        boolean[] replaced = {false};
+        forEach((id, tf) -> {
+            if (id == docId) {
+                replaced[0] = true;
+                tf = termFrequency;
+            }
+            ids[count[0]] = id;
+            frequencies[count[0]++] = tf;
+        });
+        if (!replaced[0]) {
+            ids[count[0]] = docId;
+            frequencies[count[0]++] = termFrequency;
+        }
+
+        Integer[] order = new Integer[count[0]];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+
+        // A fresh array: views handed out by frozenView keep reading the old one.
+        data = new byte[data.length];
+        length = 0;
+        lastDocId = 0;
+        documentFrequency = 0;
+        for (int i : order) {
+            add(ids[i], frequencies[i]);
+        }
+    }
+
+    // The postings as they are now, sharing this list's bytes. Adding only writes
+    // past the current length (or into a new array), so the view never changes.
+    // Only for writeTo.
+    PostingsList frozenView() {
+        PostingsList view = new PostingsList();
+        view.data = data;
+        view.length = length;
+        view.lastDocId = lastDocId;
+        view.documentFrequency = documentFrequency;
+        return view;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(documentFrequency);
+        out.writeLong(lastDocId);
+        out.writeInt(length);
+        out.write(data, 0, length);
+    }
+
+    static PostingsList readFrom(DataInput in) throws IOException {
+        PostingsList list = new PostingsList();
+        list.documentFrequency = in.readInt();
+        list.lastDocId = in.readLong();
+        list.length = in.readInt();
+        list.data = new byte[Math.max(list.length, 8)];
+        in.readFully(list.data, 0, list.length);
+        return list;
+    }
+
+    private void writeVarLong(long value) {
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 10));
+        }
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
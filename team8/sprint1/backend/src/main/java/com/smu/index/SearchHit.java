@@ -0,0 +1,20 @@
+package com.smu.index;
+
+public class SearchHit {
+
+    private final long docId;
+    private final double score;
+
+    public SearchHit(long docId, double score) {
+        this.docId = docId;
+        this.score = score;
+    }
+
+    public long getDocId() {
+        return docId;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
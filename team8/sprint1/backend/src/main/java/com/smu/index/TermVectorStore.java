@@ -0,0 +1,380 @@
+package com.smu.index;
+
+import com.smu.analysis.TermDictionary;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-document term vectors, so corpus-wide statistics never have to read or
+ * re-tokenize document content.
+ *
+ * <p>Terms get corpus-wide IDs from an append-only dictionary file. Each
+ * vector is appended to the vector file as a header (document ID, upload day,
+ * payload length) followed by its entries sorted by term ID, each stored as a
+ * varint delta from the previous ID and a varint count. A corpus scan is one
+ * sequential read of that file.
+ *
+ * <p>A document's new terms and its vector are written before the dictionary
+ * takes the terms; if either write fails, both files are cut back to their last
+ * intact length, so term IDs in memory and on disk never disagree.
+ */
+@Component
+public class TermVectorStore {
+
+    public interface VectorConsumer {
+        // termIds[0..length) is sorted; both arrays are reused for the next vector.
+        void accept(long docId, int epochDay, int[] termIds, int[] counts, int length);
+    }
+
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES * 2;
+
+    // Same cut-off as the inverted index; writeUTF cannot take more than 64 KB.
+    private static final int MAX_TERM_LENGTH = 255;
+
+    private final Path termsFile;
+    private final Path vectorsFile;
+
+    private final TermDictionary dictionary = new TermDictionary();
+    // Document ID -> offset of its record in the vector file.
+    private final Map<Long, Long> offsets = new HashMap<>();
+    // Readers only look at the file up to here.
+    private long committedLength;
+    // Length of the dictionary file holding exactly the terms in dictionary.
+    private long termsLength;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private DataOutputStream termsOut;
+    private DataOutputStream vectorsOut;
+
+    public TermVectorStore(@Value("${analysis.vectors.directory:data/vectors}") String directory) {
+        Path root = Paths.get(directory).toAbsolutePath();
+        this.termsFile = root.resolve("terms.dat");
+        this.vectorsFile = root.resolve("vectors.dat");
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        Files.createDirectories(termsFile.getParent());
+        if (Files.exists(termsFile)) {
+            termsLength = readTerms();
+            truncate(termsFile, termsLength);
+        }
+        if (Files.exists(vectorsFile)) {
+            committedLength = readOffsets();
+            truncate(vectorsFile, committedLength);
+        }
+        termsOut = open(termsFile);
+        vectorsOut = open(vectorsFile);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            termsOut.close();
+            vectorsOut.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return offsets.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(long docId) {
+        lock.readLock().lock();
+        try {
+            return offsets.containsKey(docId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return dictionary.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String term(int termId) {
+        lock.readLock().lock();
+        try {
+            return dictionary.term(termId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // -1 if no stored document contains the term.
+    public int termId(String term) {
+        lock.readLock().lock();
+        try {
+            return dictionary.idOf(term);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addDocument(long docId, LocalDate uploadDate, Map<String, Integer> termCounts) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (offsets.containsKey(docId)) {
+                return;
+            }
+            int[] termIds = new int[termCounts.size()];
+            int[] counts = new int[termCounts.size()];
+            // Terms the dictionary does not have yet, with the IDs they will get.
+            Map<String, Integer> newTerms = new LinkedHashMap<>();
+            int n = 0;
+            for (Map.Entry<String, Integer> entry : termCounts.entrySet()) {
+                String term = entry.getKey();
+                if (term.length() <= MAX_TERM_LENGTH) {
+                    int id = dictionary.idOf(term);
+                    termIds[n] = id >= 0 ? id : newTerms.computeIfAbsent(term, t -> dictionary.size() + newTerms.size());
+                    counts[n++] = entry.getValue();
+                }
+            }
+            byte[] payload = encode(Arrays.copyOf(termIds, n), Arrays.copyOf(counts, n));
+
+            try {
+                // New terms reach the dictionary file before any vector that uses them.
+                for (String term : newTerms.keySet()) {
+                    termsOut.writeUTF(term);
+                }
+                termsOut.flush();
+                vectorsOut.writeLong(docId);
+                vectorsOut.writeInt((int) uploadDate.toEpochDay());
+                vectorsOut.writeInt(payload.length);
+                vectorsOut.write(payload);
+                vectorsOut.flush();
+            } catch (IOException e) {
+                rollBack(e);
+                throw e;
+            }
+            for (String term : newTerms.keySet()) {
+                dictionary.add(term);
+                termsLength += 2 + utfLength(term);
+            }
+            offsets.put(docId, committedLength);
+            committedLength += HEADER_BYTES + payload.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Cuts both files back to their intact length after a failed write, dropping
+    // whatever part of the record or its terms reached them. Called under the write lock.
+    private void rollBack(IOException cause) {
+        closeQuietly(termsOut, cause);
+        closeQuietly(vectorsOut, cause);
+        try {
+            truncate(termsFile, termsLength);
+            truncate(vectorsFile, committedLength);
+            termsOut = open(termsFile);
+            vectorsOut = open(vectorsFile);
+        } catch (IOException e) {
+            // The closed streams make every later write fail and retry this.
+            cause.addSuppressed(e);
+        }
+    }
+
+    // Closing flushes what is buffered; that is cut off again by the truncate.
+    private static void closeQuietly(OutputStream out, IOException cause) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    // Streams every stored vector in the order they were added.
+    public void forEach(VectorConsumer consumer) throws IOException {
+        long end;
+        lock.readLock().lock();
+        try {
+            end = committedLength;
+        } finally {
+            lock.readLock().unlock();
+        }
+        int[][] entries = {new int[256], new int[256]};
+        byte[] payload = new byte[1024];
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(vectorsFile), 1 << 20))) {
+            for (long position = 0; position < end; ) {
+                long docId = in.readLong();
+                int epochDay = in.readInt();
+                int payloadLength = in.readInt();
+                if (payload.length < payloadLength) {
+                    payload = new byte[Math.max(payloadLength, payload.length * 2)];
+                }
+                in.readFully(payload, 0, payloadLength);
+                int length = decode(payload, payloadLength, entries);
+                consumer.accept(docId, epochDay, entries[0], entries[1], length);
+                position += HEADER_BYTES + payloadLength;
+            }
+        }
+    }
+
+    // The vector of one document as {termIds, counts}, or null if it has none.
+    public int[][] vectorOf(long docId) throws IOException {
+        Long offset;
+        lock.readLock().lock();
+        try {
+            offset = offsets.get(docId);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (offset == null) {
+            return null;
+        }
+        try (RandomAccessFile file = new RandomAccessFile(vectorsFile.toFile(), "r")) {
+            file.seek(offset + Long.BYTES + Integer.BYTES);
+            byte[] payload = new byte[file.readInt()];
+            file.readFully(payload);
+            int[][] entries = {new int[16], new int[16]};
+            int length = decode(payload, payload.length, entries);
+            return new int[][]{Arrays.copyOf(entries[0], length), Arrays.copyOf(entries[1], length)};
+        }
+    }
+
+    private static byte[] encode(int[] termIds, int[] counts) {
+        Integer[] order = new Integer[termIds.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> termIds[i]));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(termIds.length * 3 + 5);
+        writeVarInt(out, termIds.length);
+        int previous = 0;
+        for (int i : order) {
+            writeVarInt(out, termIds[i] - previous);
+            writeVarInt(out, counts[i]);
+            previous = termIds[i];
+        }
+        return out.toByteArray();
+    }
+
+    // Decodes into entries[0] (term IDs) and entries[1] (counts), growing them as needed.
+    private static int decode(byte[] payload, int payloadLength, int[][] entries) {
+        int[] position = {0};
+        int length = readVarInt(payload, position);
+        if (entries[0].length < length) {
+            entries[0] = new int[Math.max(length, entries[0].length * 2)];
+            entries[1] = new int[entries[0].length];
+        }
+        int termId = 0;
+        for (int i = 0; i < length; i++) {
+            termId += readVarInt(payload, position);
+            entries[0][i] = termId;
+            entries[1][i] = readVarInt(payload, position);
+        }
+        return length;
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] bytes, int[] position) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[position[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    // Returns the length of the intact part of the dictionary file.
+    private long readTerms() throws IOException {
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(termsFile)))) {
+            while (true) {
+                String term;
+                try {
+                    term = in.readUTF();
+                } catch (EOFException e) {
+                    return valid;
+                }
+                dictionary.add(term);
+                valid += 2 + utfLength(term);
+            }
+        }
+    }
+
+    // Returns the length of the intact part of the vector file.
+    private long readOffsets() throws IOException {
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(vectorsFile)))) {
+            while (true) {
+                try {
+                    long docId = in.readLong();
+                    in.readInt();
+                    int payloadLength = in.readInt();
+                    in.skipNBytes(payloadLength);
+                    offsets.put(docId, valid);
+                    valid += HEADER_BYTES + payloadLength;
+                } catch (EOFException e) {
+                    // End of the file, or a record cut short by a crash.
+                    return valid;
+                }
+            }
+        }
+    }
+
+    // Drops a torn record at the tail so new records are appended after intact data.
+    private static void truncate(Path file, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            if (channel.size() > length) {
+                channel.truncate(length);
+            }
+        }
+    }
+
+    private DataOutputStream open(Path file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(openAppend(file)));
+    }
+
+    // Overridden by tests to make writes fail.
+    OutputStream openAppend(Path file) throws IOException {
+        return Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    // Bytes writeUTF uses for the string, excluding its 2-byte length prefix.
+    private static int utfLength(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            length += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        return length;
+    }
+}
@@ -2,6 +2,8 @@ package com.smu.model;
 
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 public class Document {
 
@@ -11,8 +13,28 @@ public class Document {
 
     private String filename;
 
-    @Lob
-    private String content;
+    // Rows saved before content moved to the ContentStore also have a content
+    // column; it is mapped by LegacyContent so that it is never loaded here.
+
+    // Hex SHA-256 of the uploaded bytes; identical uploads share one row.
+    @Column(name = "content_hash", length = 64, unique = true)
+    private String contentHash;
+
+    // Where the text lives in the ContentStore.
+    @Column(name = "content_key")
+    private String contentKey;
+
+    // Uncompressed size in bytes.
+    @Column(name = "content_size")
+    private Long contentSize;
+
+    // Null on rows saved before upload times were recorded.
+    @Column(name = "uploaded_at")
+    private LocalDateTime uploadedAt;
+
+    // MinHash signature of the text's shingles, for near-duplicate detection.
+    @Column(name = "minhash_signature", length = 4096)
+    private byte[] minhashSignature;
 
     // Getters and Setters
 
@@ -32,11 +54,43 @@ public class Document {
         this.filename = filename;
     }
 
-    public String getContent() {
-        return content;
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getContentKey() {
+        return contentKey;
+    }
+
+    public void setContentKey(String contentKey) {
+        this.contentKey = contentKey;
+    }
+
+    public Long getContentSize() {
+        return contentSize;
+    }
+
+    public void setContentSize(Long contentSize) {
+        this.contentSize = contentSize;
+    }
+
+    public LocalDateTime getUploadedAt() {
+        return uploadedAt;
+    }
+
+    public void setUploadedAt(LocalDateTime uploadedAt) {
+        this.uploadedAt = uploadedAt;
+    }
+
+    public byte[] getMinhashSignature() {
+        return minhashSignature;
     }
 
-    public void setContent(String content) {
-        this.content = content;
+    public void setMinhashSignature(byte[] minhashSignature) {
+        this.minhashSignature = minhashSignature;
     }
 }
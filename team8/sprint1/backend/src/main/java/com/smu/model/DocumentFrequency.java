@@ -0,0 +1,33 @@
+package com.smu.model;
+
+import jakarta.persistence.*;
+
+// Number of stored documents that contain a term, used as the IDF input.
+@Entity
+@Table(name = "document_frequency")
+public class DocumentFrequency {
+
+    @Id
+    private String term;
+
+    @Column(name = "document_count", nullable = false)
+    private long documentCount;
+
+    // Getters and Setters
+
+    public String getTerm() {
+        return term;
+    }
+
+    public void setTerm(String term) {
+        this.term = term;
+    }
+
+    public long getDocumentCount() {
+        return documentCount;
+    }
+
+    public void setDocumentCount(long documentCount) {
+        this.documentCount = documentCount;
+    }
+}
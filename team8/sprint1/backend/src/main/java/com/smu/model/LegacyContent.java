@@ -0,0 +1,35 @@
+package com.smu.model;
+
+import jakarta.persistence.*;
+
+// The text column of document rows saved before content moved to the ContentStore.
+// Mapped apart from Document so that loading a document never reads it; only
+// ContentMigrationService uses it, to move the text out and clear the column.
+@Entity
+@Table(name = "document")
+public class LegacyContent {
+
+    @Id
+    private Long id;
+
+    @Lob
+    private String content;
+
+    // Getters and Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+}
@@ -0,0 +1,7 @@
+package com.smu.repository;
+
+import com.smu.model.DocumentFrequency;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DocumentFrequencyRepository extends JpaRepository<DocumentFrequency, String> {
+}
@@ -2,6 +2,18 @@ package com.smu.repository;
 
 import com.smu.model.Document;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface DocumentRepository extends JpaRepository<Document, Long> {
-}
\ No newline at end of file
+
+    Optional<Document> findByContentHash(String contentHash);
+
+    // (id, filename) pairs, without loading the entities.
+    @Query("select d.id, d.filename from Document d where d.id in :ids")
+    List<Object[]> findFilenamesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,12 @@
+package com.smu.repository;
+
+import com.smu.model.LegacyContent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface LegacyContentRepository extends JpaRepository<LegacyContent, Long> {
+
+    // Rows that still keep their text in the legacy column.
+    List<LegacyContent> findTop100ByContentIsNotNullOrderByIdAsc();
+}
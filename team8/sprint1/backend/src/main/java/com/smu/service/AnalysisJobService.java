@@ -0,0 +1,116 @@
+package com.smu.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs {@link AnalysisService} in the background so large uploads do not hold
+ * a request thread. The queue is bounded; when it is full, submissions are
+ * rejected and the controller answers 429.
+ */
+@Service
+public class AnalysisJobService {
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+    private final Map<String, AnalysisJob> jobs = new ConcurrentHashMap<>();
+
+    public AnalysisJobService(@Value("${analysis.jobs.threads:4}") int threads,
+                              @Value("${analysis.jobs.queue-capacity:100}") int queueCapacity,
+                              @Value("${analysis.jobs.retention-minutes:60}") long retentionMinutes) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "analysis-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    // Spools the upload to a temp file (the multipart part is gone once the
+    // request ends) and queues the analysis. Throws RejectedExecutionException
+    // when the queue is full.
+    public AnalysisJob submit(MultipartFile file) throws IOException {
+        // Checked before the copy, so a full queue is answered without spooling the upload;
+        // execute() below still rejects a job if the queue fills up in between.
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException("Analysis queue is full");
+        }
+
+        Path spooled = Files.createTempFile("analysis-", ".upload");
+        try {
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, spooled));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(spooled);
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<AnalysisJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private void run(AnalysisJob job, Path spooled) {
+        job.markRunning();
+        try {
+            job.complete(analysisService.analyzeDocument(job.getFilename(), new FileSystemResource(spooled)));
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException ignored) {
+                // The temp directory is cleaned up by the OS eventually.
+            }
+        }
+    }
+
+    // Finished jobs are kept for analysis.jobs.retention-minutes so clients can poll the result.
+    @Scheduled(fixedDelayString = "${analysis.jobs.purge-interval-ms:60000}")
+    void purgeFinishedJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
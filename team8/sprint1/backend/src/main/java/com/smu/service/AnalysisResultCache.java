@@ -0,0 +1,107 @@
+package com.smu.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded LRU cache from the SHA-256 of an upload to its analysis result,
+ * so re-uploads of the same file are answered without re-analyzing it.
+ *
+ * <p>TF-IDF scores and near-duplicates depend on the rest of the corpus, so a
+ * result goes stale as documents are added. Each entry remembers the corpus
+ * size it was computed against and is dropped once the corpus has grown by more
+ * than analysis.cache.max-corpus-growth (a fraction) since then.
+ */
+@Component
+public class AnalysisResultCache {
+
+    private final int maxEntries;
+    private final double maxCorpusGrowth;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final LinkedHashMap<String, Entry> entries;
+
+    private static class Entry {
+        final Map<String, Object> result;
+        final long documentCount;
+
+        Entry(Map<String, Object> result, long documentCount) {
+            this.result = result;
+            this.documentCount = documentCount;
+        }
+    }
+
+    public AnalysisResultCache(@Value("${analysis.cache.max-entries:1000}") int maxEntries,
+                               @Value("${analysis.cache.max-corpus-growth:0.1}") double maxCorpusGrowth) {
+        this.maxEntries = maxEntries;
+        this.maxCorpusGrowth = maxCorpusGrowth;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > AnalysisResultCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // The cached result, or null when there is none or it was computed against a
+    // corpus that has since grown too much.
+    public Map<String, Object> get(String contentHash, long documentCount) {
+        Map<String, Object> result = null;
+        synchronized (entries) {
+            Entry entry = entries.get(contentHash);
+            if (entry != null && isStale(entry, documentCount)) {
+                entries.remove(contentHash);
+                expirations.incrementAndGet();
+            } else if (entry != null) {
+                result = entry.result;
+            }
+        }
+        if (result != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return result;
+    }
+
+    private boolean isStale(Entry entry, long documentCount) {
+        return documentCount - entry.documentCount > entry.documentCount * maxCorpusGrowth;
+    }
+
+    // documentCount is the corpus size the result was scored against. Inside a
+    // transaction the entry is only added after commit, so a rolled-back save never
+    // leaves a cached result pointing at a missing document.
+    public void put(String contentHash, Map<String, Object> result, long documentCount) {
+        AfterCommit.run(() -> store(contentHash, new Entry(result, documentCount)));
+    }
+
+    private void store(String contentHash, Entry entry) {
+        synchronized (entries) {
+            entries.put(contentHash, entry);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return Map.of(
+                "size", size,
+                "maxEntries", maxEntries,
+                "hits", hits.get(),
+                "misses", misses.get(),
+                "evictions", evictions.get(),
+                "expirations", expirations.get());
+    }
+}
@@ -1,47 +1,489 @@
 package com.smu.service;
 
+import com.smu.analysis.CountMinSketch;
+import com.smu.analysis.MinHash;
+import com.smu.analysis.ParallelTermCounter;
+import com.smu.analysis.PhraseCounter;
+import com.smu.analysis.StreamingTokenizer;
+import com.smu.analysis.TermCounter;
+import com.smu.analysis.TermNormalizer;
+import com.smu.analysis.TopK;
+import com.smu.index.InvertedIndex;
+import com.smu.index.NearDuplicate;
+import com.smu.index.NearDuplicateIndex;
+import com.smu.index.TermVectorStore;
 import com.smu.model.Document;
 import com.smu.repository.DocumentRepository;
+import com.smu.storage.ContentStore;
+import com.smu.storage.StoredContent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 @Service
 public class AnalysisService {
 
+    private static final Logger log = LoggerFactory.getLogger(AnalysisService.class);
+
+    private static final int TOP_KEYWORDS = 10;
+
+    private static final int TOP_PHRASES = 10;
+
+    private static final int MAX_NEAR_DUPLICATES = 10;
+
+    // Attempts at saving a batch whose new content another upload inserted first.
+    private static final int MAX_PERSIST_ATTEMPTS = 3;
+
     @Autowired
     private DocumentRepository documentRepository;
 
+    @Autowired
+    private CorpusStatisticsService corpusStatisticsService;
+
+    @Autowired
+    private AnalysisResultCache resultCache;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private InvertedIndex invertedIndex;
+
+    @Autowired
+    private NearDuplicateIndex nearDuplicateIndex;
+
+    @Autowired
+    private TermVectorStore termVectorStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Used to store and count the files of a batch in parallel, and to count
+    // the chunks of a single large upload.
+    private final ForkJoinPool batchPool;
+
+    private final ParallelTermCounter parallelCounter;
+
+    // Uploads at least this large are counted chunk-by-chunk across cores.
+    private final long parallelThreshold;
+
+    // Stopword removal and stemming, applied while counting.
+    private final TermNormalizer normalizer;
+
+    // Error bounds and candidate table size for the per-document phrase sketch.
+    @Value("${analysis.phrases.epsilon:0.0001}")
+    private double phraseEpsilon;
+
+    @Value("${analysis.phrases.delta:0.01}")
+    private double phraseDelta;
+
+    @Value("${analysis.phrases.candidates:100}")
+    private int phraseCandidates;
+
+    // How often a streamed analysis reports progress.
+    @Value("${analysis.stream.progress-bytes:1048576}")
+    private long progressInterval;
+
+    public AnalysisService(@Value("${analysis.batch.parallelism:0}") int parallelism,
+                           @Value("${analysis.parallel.threshold-bytes:16777216}") long parallelThreshold,
+                           @Value("${analysis.parallel.chunk-bytes:4194304}") int chunkSize,
+                           TermNormalizer normalizer) {
+        this.batchPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.parallelCounter = new ParallelTermCounter(batchPool, chunkSize, normalizer);
+        this.parallelThreshold = parallelThreshold;
+        this.normalizer = normalizer;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        batchPool.shutdownNow();
+    }
+
+    // A stored and counted upload that has not been persisted yet.
+    static class PreparedDocument {
+        final String filename;
+        final StoredContent stored;
+        final Map<String, Object> cachedResult;
+        final Map<String, Integer> termCounts;
+        final Map<String, Integer> keywordCounts;
+        final Map<String, Integer> phrases;
+        // Null on a cache hit or when the text is too short to shingle.
+        final int[] signature;
+
+        PreparedDocument(String filename, StoredContent stored, Map<String, Object> cachedResult,
+                         Map<String, Integer> termCounts, Map<String, Integer> phrases, int[] signature) {
+            this.filename = filename;
+            this.stored = stored;
+            this.cachedResult = cachedResult;
+            this.termCounts = termCounts;
+            this.keywordCounts = termCounts == null ? null : StreamingTokenizer.keywordsOf(termCounts);
+            this.phrases = phrases;
+            this.signature = signature;
+        }
+    }
+
+    // Receives partial results while an upload is stored, then again while it is
+    // counted; keywords are empty while storing. Throwing aborts the analysis, which
+    // is how a client that went away stops the work.
+    public interface ProgressListener {
+        enum Phase { STORING, COUNTING }
+
+        void onProgress(Phase phase, long bytesProcessed, List<String> keywords) throws IOException;
+    }
+
     public Map<String, Object> analyzeDocument(MultipartFile file) throws IOException {
-        String text = new String(file.getBytes());
+        return analyzeDocument(file.getOriginalFilename(), file);
+    }
 
-        Document doc = new Document();
-        doc.setFilename(file.getOriginalFilename());
-        doc.setContent(text);
-        documentRepository.save(doc);
+    // Shared by the synchronous endpoint and background jobs; the source may be
+    // the multipart upload itself or a copy spooled to disk.
+    public Map<String, Object> analyzeDocument(String filename, InputStreamSource source) throws IOException {
+        PreparedDocument prepared = prepare(filename, source, false, null, 0);
+        return persistInTransaction(List.of(prepared)).get(0);
+    }
+
+    // Like analyzeDocument, reporting the bytes counted and the running top keywords
+    // about every analysis.stream.progress-bytes. Always counts on the calling thread.
+    public Map<String, Object> analyzeDocument(String filename, InputStreamSource source,
+                                               ProgressListener listener) throws IOException {
+        PreparedDocument prepared = prepare(filename, source, false, listener, progressInterval);
+        return persistInTransaction(List.of(prepared)).get(0);
+    }
 
-        String[] words = text.toLowerCase().split("\\W+");
-        Map<String, Integer> freq = new HashMap<>();
-        for (String word : words) {
-            if (word.length() > 4) {
-                freq.put(word, freq.getOrDefault(word, 0) + 1);
+    // Stores and counts all files in parallel, then saves every new Document in
+    // one transaction. Returns per-file results plus a summary of the whole batch.
+    public Map<String, Object> analyzeBatch(List<MultipartFile> files) throws IOException {
+        List<PreparedDocument> prepared;
+        try {
+            prepared = batchPool.submit(() -> files.parallelStream()
+                    .map(file -> {
+                        try {
+                            return prepare(file.getOriginalFilename(), file, true, null, 0);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch analysis interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
             }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        List<Map<String, Object>> results = persistInTransaction(prepared);
+
+        List<Map<String, Object>> perFile = new ArrayList<>();
+        Map<String, Integer> combined = new HashMap<>();
+        for (int i = 0; i < prepared.size(); i++) {
+            PreparedDocument doc = prepared.get(i);
+            Map<String, Object> fileResult = new HashMap<>(results.get(i));
+            fileResult.put("filename", doc.filename);
+            perFile.add(fileResult);
+            doc.keywordCounts.forEach((term, count) -> combined.merge(term, count, Integer::sum));
         }
 
-        List<String> topKeywords = freq.entrySet().stream()
-                .sorted((a, b) -> b.getValue() - a.getValue())
-                .limit(10)
-                .map(Map.Entry::getKey)
-                .toList();
+        Map<String, Object> corpus = new HashMap<>();
+        corpus.put("files", prepared.size());
+        corpus.put("keywords", TopK.select(combined, TOP_KEYWORDS));
+        corpus.put("distinctKeywords", combined.size());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("documents", perFile);
+        response.put("corpus", corpus);
+        return response;
+    }
+
+    // Reports progress every interval bytes as the upload is read; while counting,
+    // with the counter's running top keywords (counter is null while storing).
+    private static class ProgressInputStream extends FilterInputStream {
+        private final ProgressListener.Phase phase;
+        private final TermCounter counter;
+        private final long interval;
+        private final ProgressListener listener;
+        private long processed;
+        private long nextReport;
+
+        ProgressInputStream(InputStream in, ProgressListener.Phase phase, TermCounter counter, long interval,
+                            ProgressListener listener) {
+            super(in);
+            this.phase = phase;
+            this.counter = counter;
+            this.interval = interval;
+            this.listener = listener;
+            this.nextReport = interval;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0 && (processed += read) >= nextReport) {
+                nextReport = processed + interval;
+                listener.onProgress(phase, processed,
+                        counter == null ? List.of() : counter.top(TOP_KEYWORDS, StreamingTokenizer.MIN_KEYWORD_LENGTH));
+            }
+            return read;
+        }
+    }
+
+    // Everything that needs no database access: store the blob and count its terms.
+    // On a cache hit counting is skipped unless the caller needs the counts anyway.
+    // With a listener, counting always runs on the calling thread.
+    PreparedDocument prepare(String filename, InputStreamSource source, boolean alwaysCount,
+                             ProgressListener listener, long progressInterval) throws IOException {
+        // Streams the upload into the blob store, hashing it on the way.
+        StoredContent stored;
+        try (InputStream in = source.getInputStream()) {
+            stored = contentStore.store(listener == null ? in
+                    : new ProgressInputStream(in, ProgressListener.Phase.STORING, null, progressInterval, listener));
+        }
+
+        Map<String, Object> cached = resultCache.get(stored.getSha256(), corpusStatisticsService.getDocumentCount());
+        if (cached != null && !alwaysCount) {
+            return new PreparedDocument(filename, stored, cached, null, null, null);
+        }
+
+        // Count straight from the upload stream instead of lower-casing and splitting the text.
+        // All terms go to the search index; keywords are the long ones.
+        // Batch files are already spread over the pool, so they are counted on one thread each.
+        // Phrases and the MinHash signature are built in the same pass, in fixed memory.
+        PhraseCounter phrases = new PhraseCounter(new CountMinSketch(phraseEpsilon, phraseDelta), phraseCandidates);
+        MinHash signature = nearDuplicateIndex.newSignature();
+        Map<String, Integer> termCounts;
+        try (InputStream in = source.getInputStream()) {
+            if (listener == null && stored.getSize() >= parallelThreshold && !ForkJoinTask.inForkJoinPool()) {
+                termCounts = parallelCounter.countTerms(in, 1, phrases, signature);
+            } else {
+                TermCounter counter = new TermCounter(normalizer, 1, StreamingTokenizer.TokenSink.both(phrases, signature));
+                InputStream counted = listener == null ? in : new ProgressInputStream(in, ProgressListener.Phase.COUNTING, counter,
+                        progressInterval, listener);
+                new StreamingTokenizer().tokenize(counted, StandardCharsets.UTF_8, counter);
+                termCounts = counter.toMap();
+            }
+        }
+        return new PreparedDocument(filename, stored, cached, termCounts, phrases.top(TOP_PHRASES),
+                signature.isEmpty() ? null : signature.signature());
+    }
+
+    // Two uploads of the same new content can both miss it in findByContentHash; the
+    // second insert then breaks the unique content_hash and rolls back, and the retry
+    // finds the first upload's row. Nothing in memory changes before a commit.
+    private List<Map<String, Object>> persistInTransaction(List<PreparedDocument> prepared) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> persist(prepared));
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_PERSIST_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // Must run inside a transaction. New content gets a Document row; content
+    // already stored (or repeated within the batch) reuses the existing row.
+    private List<Map<String, Object>> persist(List<PreparedDocument> prepared) {
+        List<Document> newDocuments = new ArrayList<>();
+        List<PreparedDocument> newPrepared = new ArrayList<>();
+        // Content hash -> row ID, for every counted upload; filled in for new rows once saved.
+        Map<String, Long> documentIds = new HashMap<>();
+        LocalDateTime uploadedAt = LocalDateTime.now();
+        for (PreparedDocument doc : prepared) {
+            String contentHash = doc.stored.getSha256();
+            if (doc.cachedResult != null || documentIds.containsKey(contentHash)) {
+                continue;
+            }
+            Optional<Document> existing = documentRepository.findByContentHash(contentHash);
+            if (existing.isPresent()) {
+                documentIds.put(contentHash, existing.get().getId());
+                continue;
+            }
+            Document entity = new Document();
+            entity.setFilename(doc.filename);
+            entity.setContentHash(contentHash);
+            entity.setContentKey(doc.stored.getKey());
+            entity.setContentSize(doc.stored.getSize());
+            entity.setUploadedAt(uploadedAt);
+            if (doc.signature != null) {
+                entity.setMinhashSignature(MinHash.toBytes(doc.signature));
+            }
+            newDocuments.add(entity);
+            newPrepared.add(doc);
+            documentIds.put(contentHash, null);
+        }
+
+        if (!newDocuments.isEmpty()) {
+            documentRepository.saveAll(newDocuments);
+            for (Document entity : newDocuments) {
+                documentIds.put(entity.getContentHash(), entity.getId());
+            }
+            corpusStatisticsService.recordDocuments(newPrepared.stream().map(doc -> doc.keywordCounts.keySet()).toList());
+            for (int i = 0; i < newDocuments.size(); i++) {
+                long docId = newDocuments.get(i).getId();
+                Map<String, Integer> termCounts = newPrepared.get(i).termCounts;
+                int[] signature = newPrepared.get(i).signature;
+                LocalDate uploadDate = uploadedAt.toLocalDate();
+                // The row is committed by now, so a failed index write is logged rather than
+                // failing the upload (or the synchronizations registered after this one).
+                AfterCommit.run(() -> {
+                    try {
+                        invertedIndex.addDocument(docId, termCounts);
+                    } catch (IOException e) {
+                        log.error("Journaling document {} failed; it stays searchable and is saved with the next index snapshot", docId, e);
+                    }
+                    try {
+                        termVectorStore.addDocument(docId, uploadDate, termCounts);
+                    } catch (IOException e) {
+                        log.error("Storing the term vector of document {} failed and was rolled back; corpus analytics will leave the document out", docId, e);
+                    }
+                    if (signature != null) {
+                        nearDuplicateIndex.add(docId, signature);
+                    }
+                });
+            }
+        }
+        Map<String, List<NearDuplicate>> nearDuplicates = findNearDuplicates(prepared, documentIds, newPrepared);
+        Map<Long, String> filenames = filenamesOf(nearDuplicates.values());
+
+        // New documents are only added to the count once this transaction commits.
+        long documentCount = corpusStatisticsService.getDocumentCount() + newDocuments.size();
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (PreparedDocument doc : prepared) {
+            if (doc.cachedResult != null) {
+                results.add(doc.cachedResult);
+            } else {
+                Map<String, Object> result = summarize(doc.keywordCounts, documentCount);
+                result.put("phrases", describePhrases(doc.phrases));
+                result.put("nearDuplicates", describeNearDuplicates(
+                        nearDuplicates.getOrDefault(doc.stored.getSha256(), List.of()), filenames));
+                resultCache.put(doc.stored.getSha256(), result, documentCount);
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    // Near-duplicates of each counted upload, keyed by content hash: stored documents
+    // found through the LSH index, plus new documents earlier in the same batch,
+    // which only reach the index after commit. Cache hits are answered from the
+    // cache (and have no entry in documentIds), so they are skipped.
+    private Map<String, List<NearDuplicate>> findNearDuplicates(List<PreparedDocument> prepared,
+                                                                Map<String, Long> documentIds,
+                                                                List<PreparedDocument> newPrepared) {
+        Map<String, List<NearDuplicate>> found = new HashMap<>();
+        for (PreparedDocument doc : prepared) {
+            String contentHash = doc.stored.getSha256();
+            if (doc.cachedResult != null || doc.signature == null || found.containsKey(contentHash)) {
+                continue;
+            }
+            long docId = documentIds.get(contentHash);
+            List<NearDuplicate> matches = new ArrayList<>();
+            for (NearDuplicate match : nearDuplicateIndex.find(doc.signature, MAX_NEAR_DUPLICATES + 1)) {
+                if (match.getDocId() != docId) {
+                    matches.add(match);
+                }
+            }
+            for (PreparedDocument other : newPrepared) {
+                long otherId = documentIds.get(other.stored.getSha256());
+                if (other == doc || otherId == docId) {
+                    break;
+                }
+                if (other.signature != null) {
+                    double similarity = MinHash.similarity(doc.signature, other.signature);
+                    if (similarity >= nearDuplicateIndex.getThreshold()) {
+                        matches.add(new NearDuplicate(otherId, similarity));
+                    }
+                }
+            }
+            matches.sort(Comparator.comparingDouble(NearDuplicate::getSimilarity).reversed()
+                    .thenComparingLong(NearDuplicate::getDocId));
+            found.put(contentHash, matches.subList(0, Math.min(MAX_NEAR_DUPLICATES, matches.size())));
+        }
+        return found;
+    }
+
+    private Map<Long, String> filenamesOf(Collection<List<NearDuplicate>> nearDuplicates) {
+        Set<Long> ids = new HashSet<>();
+        nearDuplicates.forEach(matches -> matches.forEach(match -> ids.add(match.getDocId())));
+        Map<Long, String> filenames = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Object[] row : documentRepository.findFilenamesByIdIn(ids)) {
+                filenames.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return filenames;
+    }
+
+    private static List<Map<String, Object>> describeNearDuplicates(List<NearDuplicate> matches,
+                                                                    Map<Long, String> filenames) {
+        List<Map<String, Object>> described = new ArrayList<>();
+        for (NearDuplicate match : matches) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("documentId", match.getDocId());
+            entry.put("filename", filenames.get(match.getDocId()));
+            entry.put("similarity", match.getSimilarity());
+            described.add(entry);
+        }
+        return described;
+    }
+
+    private static List<Map<String, Object>> describePhrases(Map<String, Integer> phrases) {
+        List<Map<String, Object>> described = new ArrayList<>();
+        phrases.forEach((phrase, count) -> {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("phrase", phrase);
+            entry.put("count", count);
+            described.add(entry);
+        });
+        return described;
+    }
+
+    // Builds the response from a document's keyword counts. Topics are scored by
+    // TF-IDF against the corpus-wide document frequencies.
+    Map<String, Object> summarize(Map<String, Integer> freq, long documentCount) {
+        List<String> topKeywords = TopK.select(freq, TOP_KEYWORDS);
+
+        long totalTerms = 0;
+        for (int count : freq.values()) {
+            totalTerms += count;
+        }
+        Map<String, Long> documentFrequencies = corpusStatisticsService.getDocumentFrequencies(topKeywords);
 
         List<Map<String, Object>> topicSummary = new ArrayList<>();
         for (String keyword : topKeywords) {
+            double tf = (double) freq.get(keyword) / totalTerms;
+            double idf = CorpusStatisticsService.idf(documentCount, documentFrequencies.getOrDefault(keyword, 0L));
             Map<String, Object> topic = new HashMap<>();
             topic.put("label", keyword);
-            topic.put("score", Math.random() * 10);
+            topic.put("score", tf * idf);
             topicSummary.add(topic);
         }
 
@@ -51,4 +493,4 @@ public class AnalysisService {
 
         return response;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package com.smu.service;
+
+import com.smu.model.Document;
+import com.smu.model.LegacyContent;
+import com.smu.repository.DocumentRepository;
+import com.smu.repository.LegacyContentRepository;
+import com.smu.storage.ContentStore;
+import com.smu.storage.StoredContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Moves text saved in the legacy Document.content column into the
+ * ContentStore, one batch per transaction, and clears the column.
+ * Enabled with analysis.content-store.migrate-on-startup=true.
+ */
+@Service
+public class ContentMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentMigrationService.class);
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private LegacyContentRepository legacyContentRepository;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${analysis.content-store.migrate-on-startup:false}")
+    private boolean migrateOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void migrateOnStartup() {
+        if (migrateOnStartup) {
+            int migrated = migrateAll();
+            log.info("Moved {} document(s) into the content store", migrated);
+        }
+    }
+
+    // Logs the running total after every batch, so a long migration shows progress.
+    public int migrateAll() {
+        int total = 0;
+        Integer migrated;
+        while ((migrated = transactionTemplate.execute(status -> migrateBatch())) != null && migrated > 0) {
+            total += migrated;
+            log.info("Moved {} document(s) into the content store so far", total);
+        }
+        return total;
+    }
+
+    private int migrateBatch() {
+        List<LegacyContent> batch = legacyContentRepository.findTop100ByContentIsNotNullOrderByIdAsc();
+        for (LegacyContent legacy : batch) {
+            Document doc = documentRepository.getReferenceById(legacy.getId());
+            StoredContent stored;
+            try {
+                stored = contentStore.store(new ByteArrayInputStream(legacy.getContent().getBytes(StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            doc.setContentKey(stored.getKey());
+            doc.setContentSize(stored.getSize());
+            // Legacy duplicates share the blob, but only one row may own the hash.
+            if (documentRepository.findByContentHash(stored.getSha256()).isEmpty()) {
+                doc.setContentHash(stored.getSha256());
+            }
+            legacy.setContent(null);
+            documentRepository.saveAndFlush(doc);
+        }
+        return batch.size();
+    }
+}
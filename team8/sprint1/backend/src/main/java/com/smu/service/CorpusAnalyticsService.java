@@ -0,0 +1,173 @@
+package com.smu.service;
+
+import com.smu.analysis.TermNormalizer;
+import com.smu.index.TermVectorStore;
+import com.smu.repository.DocumentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Corpus-level statistics computed from the stored term vectors. Each call is
+ * one sequential scan of the vector file; no document content is read.
+ */
+@Service
+public class CorpusAnalyticsService {
+
+    @Autowired
+    private TermVectorStore termVectorStore;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private TermNormalizer normalizer;
+
+    // Terms with the highest total count over all documents.
+    public List<Map<String, Object>> topTerms(int limit) throws IOException {
+        long[][] totals = {new long[termVectorStore.getTermCount()]};
+        int[][] documents = {new int[totals[0].length]};
+        termVectorStore.forEach((docId, epochDay, termIds, counts, length) -> {
+            // Terms added while the scan runs.
+            if (length > 0 && termIds[length - 1] >= totals[0].length) {
+                int size = termIds[length - 1] + 1;
+                totals[0] = Arrays.copyOf(totals[0], size);
+                documents[0] = Arrays.copyOf(documents[0], size);
+            }
+            for (int i = 0; i < length; i++) {
+                totals[0][termIds[i]] += counts[i];
+                documents[0][termIds[i]]++;
+            }
+        });
+
+        // Bounded heap of term IDs; ties go to the alphabetically first term.
+        Comparator<Integer> ranking = Comparator.comparingLong((Integer id) -> totals[0][id]).reversed()
+                .thenComparing(termVectorStore::term);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (int id = 0; id < totals[0].length; id++) {
+            if (totals[0][id] == 0) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(id);
+            } else if (ranking.compare(id, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(id);
+            }
+        }
+        List<Integer> top = new ArrayList<>(heap);
+        top.sort(ranking);
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (int id : top) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("term", termVectorStore.term(id));
+            result.put("count", totals[0][id]);
+            result.put("documents", documents[0][id]);
+            results.add(result);
+        }
+        return results;
+    }
+
+    // Occurrences of one term per upload date, oldest first. The term is
+    // normalized the same way as document text.
+    public List<Map<String, Object>> termTrend(String term) throws IOException {
+        String normalized = normalizer.normalize(term.toLowerCase());
+        int termId = normalized == null ? -1 : termVectorStore.termId(normalized);
+        if (termId < 0) {
+            return List.of();
+        }
+
+        // Epoch day -> {count, documents}.
+        Map<Integer, long[]> days = new TreeMap<>();
+        termVectorStore.forEach((docId, epochDay, termIds, counts, length) -> {
+            int i = Arrays.binarySearch(termIds, 0, length, termId);
+            if (i >= 0) {
+                long[] day = days.computeIfAbsent(epochDay, d -> new long[2]);
+                day[0] += counts[i];
+                day[1]++;
+            }
+        });
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        days.forEach((epochDay, day) -> {
+            Map<String, Object> result = new HashMap<>();
+            result.put("date", LocalDate.ofEpochDay(epochDay).toString());
+            result.put("count", day[0]);
+            result.put("documents", day[1]);
+            results.add(result);
+        });
+        return results;
+    }
+
+    // Documents most similar to docId by cosine similarity of their term counts,
+    // or null if the document has no stored vector.
+    public List<Map<String, Object>> similarDocuments(long docId, int limit) throws IOException {
+        int[][] target = termVectorStore.vectorOf(docId);
+        if (target == null) {
+            return null;
+        }
+        int[] targetIds = target[0];
+        int[] targetCounts = target[1];
+        double targetNorm = norm(targetCounts, targetCounts.length);
+
+        Map<Long, Double> scores = new HashMap<>();
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+        termVectorStore.forEach((otherId, epochDay, termIds, counts, length) -> {
+            if (otherId == docId) {
+                return;
+            }
+            // Both vectors are sorted by term ID, so the dot product is a merge.
+            long dot = 0;
+            for (int i = 0, j = 0; i < targetIds.length && j < length; ) {
+                if (targetIds[i] < termIds[j]) {
+                    i++;
+                } else if (targetIds[i] > termIds[j]) {
+                    j++;
+                } else {
+                    dot += (long) targetCounts[i++] * counts[j++];
+                }
+            }
+            if (dot == 0) {
+                return;
+            }
+            double similarity = dot / (targetNorm * norm(counts, length));
+            if (heap.size() < limit) {
+                heap.add(Map.entry(otherId, similarity));
+            } else if (similarity > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(Map.entry(otherId, similarity));
+            }
+        });
+        heap.forEach(entry -> scores.put(entry.getKey(), entry.getValue()));
+
+        Map<Long, String> filenames = new HashMap<>();
+        if (!scores.isEmpty()) {
+            for (Object[] row : documentRepository.findFilenamesByIdIn(scores.keySet())) {
+                filenames.put((Long) row[0], (String) row[1]);
+            }
+        }
+        List<Map<String, Object>> results = new ArrayList<>();
+        scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> {
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("id", entry.getKey());
+                    result.put("filename", filenames.get(entry.getKey()));
+                    result.put("similarity", entry.getValue());
+                    results.add(result);
+                });
+        return results;
+    }
+
+    private static double norm(int[] counts, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += (double) counts[i] * counts[i];
+        }
+        return Math.sqrt(sum);
+    }
+}
@@ -0,0 +1,95 @@
+package com.smu.service;
+
+import com.smu.model.DocumentFrequency;
+import com.smu.repository.DocumentFrequencyRepository;
+import com.smu.repository.DocumentRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Corpus-wide document frequencies for TF-IDF scoring. The counts are updated
+ * as each document is saved, so scoring never has to rescan stored content.
+ */
+@Service
+public class CorpusStatisticsService {
+
+    // Upserts keep concurrent uploads of documents sharing new terms from colliding.
+    private static final String INCREMENT_SQL =
+            "INSERT INTO document_frequency (term, document_count) VALUES (?, ?) "
+                    + "ON DUPLICATE KEY UPDATE document_count = document_count + VALUES(document_count)";
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Matches the default VARCHAR(255) primary key column.
+    private static final int MAX_TERM_LENGTH = 255;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentFrequencyRepository documentFrequencyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong documentCount = new AtomicLong();
+
+    @PostConstruct
+    void loadDocumentCount() {
+        documentCount.set(documentRepository.count());
+    }
+
+    // Call from the same transaction that saves the document.
+    public void recordDocument(Collection<String> distinctTerms) {
+        recordDocuments(List.of(distinctTerms));
+    }
+
+    // Records several new documents with one upsert per distinct term.
+    public void recordDocuments(List<? extends Collection<String>> distinctTermsPerDocument) {
+        // Sorted, so concurrent upserts lock rows in the same order and cannot deadlock.
+        Map<String, Integer> increments = new TreeMap<>();
+        for (Collection<String> terms : distinctTermsPerDocument) {
+            for (String term : terms) {
+                if (term.length() <= MAX_TERM_LENGTH) {
+                    increments.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<Object[]> batch = new ArrayList<>(Math.min(increments.size(), BATCH_SIZE));
+        for (Map.Entry<String, Integer> entry : increments.entrySet()) {
+            batch.add(new Object[]{entry.getKey(), entry.getValue()});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, batch);
+        }
+        int added = distinctTermsPerDocument.size();
+        AfterCommit.run(() -> documentCount.addAndGet(added));
+    }
+
+    public long getDocumentCount() {
+        return documentCount.get();
+    }
+
+    public Map<String, Long> getDocumentFrequencies(Collection<String> terms) {
+        Map<String, Long> frequencies = new HashMap<>();
+        for (DocumentFrequency df : documentFrequencyRepository.findAllById(terms)) {
+            frequencies.put(df.getTerm(), df.getDocumentCount());
+        }
+        return frequencies;
+    }
+
+    // Smoothed IDF: ln((N + 1) / (df + 1)) + 1, always positive.
+    public static double idf(long documentCount, long documentFrequency) {
+        return Math.log((documentCount + 1.0) / (documentFrequency + 1.0)) + 1.0;
+    }
+}
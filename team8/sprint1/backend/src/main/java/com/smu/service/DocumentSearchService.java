@@ -0,0 +1,44 @@
+package com.smu.service;
+
+import com.smu.index.InvertedIndex;
+import com.smu.index.SearchHit;
+import com.smu.repository.DocumentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Service
+public class DocumentSearchService {
+
+    @Autowired
+    private InvertedIndex invertedIndex;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    // Ranked hits with their filenames; only the filenames of the returned page are
+    // read from the database, never the documents themselves.
+    public List<Map<String, Object>> search(String query, int limit) {
+        List<SearchHit> hits = invertedIndex.search(query, limit);
+        Map<Long, String> filenames = new HashMap<>();
+        if (!hits.isEmpty()) {
+            for (Object[] row : documentRepository.findFilenamesByIdIn(hits.stream().map(SearchHit::getDocId).toList())) {
+                filenames.put((Long) row[0], (String) row[1]);
+            }
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (SearchHit hit : hits) {
+            if (!filenames.containsKey(hit.getDocId())) {
+                continue;
+            }
+            Map<String, Object> result = new HashMap<>();
+            result.put("id", hit.getDocId());
+            result.put("filename", filenames.get(hit.getDocId()));
+            result.put("score", hit.getScore());
+            results.add(result);
+        }
+        return results;
+    }
+}
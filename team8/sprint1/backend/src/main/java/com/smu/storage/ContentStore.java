@@ -0,0 +1,18 @@
+package com.smu.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Storage for document text outside the database. Documents keep only the key
+ * returned by {@link #store}, the content size and its SHA-256.
+ */
+public interface ContentStore {
+
+    // Consumes the stream and returns where the content ended up.
+    StoredContent store(InputStream in) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    boolean exists(String key);
+}
@@ -0,0 +1,155 @@
+package com.smu.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Content-addressed blob store on local disk. Each blob is deflate-compressed
+ * and stored under its SHA-256 (data/blobs/ab/abcd...), so identical content
+ * is written once. Reads memory-map the compressed file and inflate from it.
+ */
+@Component
+public class FileSystemContentStore implements ContentStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final int compressionLevel;
+
+    public FileSystemContentStore(@Value("${analysis.content-store.directory:data/blobs}") String directory,
+                                  @Value("${analysis.content-store.compression-level:6}") int compressionLevel) throws IOException {
+        this.root = Paths.get(directory).toAbsolutePath();
+        this.compressionLevel = compressionLevel;
+        Files.createDirectories(root);
+    }
+
+    @Override
+    public StoredContent store(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        long size = 0;
+        Deflater deflater = new Deflater(compressionLevel);
+        try (InputStream digesting = new DigestInputStream(in, digest);
+             OutputStream out = new DeflaterOutputStream(Files.newOutputStream(temp), deflater, BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = digesting.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                size += read;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            deflater.end();
+        }
+
+        String key = HexFormat.of().formatHex(digest.digest());
+        Path target = pathFor(key);
+        if (Files.exists(target)) {
+            // Same content is already stored.
+            Files.delete(temp);
+        } else {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return new StoredContent(key, size, key);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(pathFor(key), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed.
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return new BlobInputStream(new ByteBufferInputStream(mapped));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(pathFor(key));
+    }
+
+    private Path pathFor(String key) {
+        if (!key.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Not a content key: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key + ".deflate");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // InflaterInputStream only ends an Inflater it created itself; this one ends its
+    // own on close, so the native zlib memory is freed without waiting for GC.
+    private static class BlobInputStream extends InflaterInputStream {
+
+        BlobInputStream(InputStream in) {
+            super(in, new Inflater(), BUFFER_SIZE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
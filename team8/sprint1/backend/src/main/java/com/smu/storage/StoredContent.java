@@ -0,0 +1,27 @@
+package com.smu.storage;
+
+// Result of writing one blob: its key, uncompressed size and hex SHA-256.
+public class StoredContent {
+
+    private final String key;
+    private final long size;
+    private final String sha256;
+
+    public StoredContent(String key, long size, String sha256) {
+        this.key = key;
+        this.size = size;
+        this.sha256 = sha256;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+}
@@ -0,0 +1,57 @@
+package com.smu.analysis;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelTermCounterTests {
+
+    private final ForkJoinPool pool = new ForkJoinPool(3);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private void assertSameCounts(String text, int chunkSize) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        assertEquals(
+                StreamingTokenizer.countTerms(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, 1),
+                new ParallelTermCounter(pool, chunkSize).countTerms(new ByteArrayInputStream(bytes), 1));
+    }
+
+    @Test
+    void matchesSequentialCountsForAnyChunkSize() throws IOException {
+        Random random = new Random(3);
+        String alphabet = "abcXYZ019_ .,\n\t\u00e9\u20ac\u0130\u212A";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        String text = sb.toString();
+        for (int chunkSize : new int[]{1, 7, 64, 4096}) {
+            assertSameCounts(text, chunkSize);
+        }
+    }
+
+    @Test
+    void matchesSequentialCountsWithNormalization() throws IOException {
+        TermNormalizer normalizer = new TermNormalizer(TermNormalizer.DEFAULT_STOPWORDS, true);
+        byte[] bytes = "The analyses of the analysis, studies and networks. ".repeat(500).getBytes(StandardCharsets.UTF_8);
+        assertEquals(
+                StreamingTokenizer.countTerms(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, 1, normalizer),
+                new ParallelTermCounter(pool, 100, normalizer).countTerms(new ByteArrayInputStream(bytes), 1));
+    }
+
+    @Test
+    void handlesWordsLongerThanAChunk() throws IOException {
+        assertSameCounts("short " + "x".repeat(1000) + " tail " + "y".repeat(300), 16);
+    }
+}
@@ -0,0 +1,97 @@
+package com.smu.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PhraseCounterTests {
+
+    private static final TermNormalizer NORMALIZER = new TermNormalizer(TermNormalizer.DEFAULT_STOPWORDS, true);
+
+    // Filler text with a few planted phrases of known frequency.
+    private static String sampleCorpus() {
+        Random random = new Random(11);
+        String[] filler = new String[2000];
+        for (int i = 0; i < filler.length; i++) {
+            filler[i] = "w" + Integer.toString(i, 36) + "x";
+        }
+        String[] planted = {"neural network model", "graph theory", "protein folding", "deep learning"};
+        int[] repeats = {400, 300, 200, 100};
+        List<String> parts = new ArrayList<>();
+        for (int p = 0; p < planted.length; p++) {
+            for (int i = 0; i < repeats[p]; i++) {
+                parts.add(planted[p]);
+            }
+        }
+        for (int i = 0; i < 40_000; i++) {
+            parts.add(filler[random.nextInt(filler.length)]);
+        }
+        Collections.shuffle(parts, random);
+        return String.join(" ", parts);
+    }
+
+    private static PhraseCounter sketch(String text, int width, int depth) throws IOException {
+        PhraseCounter phrases = new PhraseCounter(new CountMinSketch(width, depth), 50);
+        new StreamingTokenizer().tokenize(new StringReader(text), new TermCounter(NORMALIZER, 1, phrases));
+        return phrases;
+    }
+
+    // Exact bigram and trigram counts over the same normalized token stream.
+    private static Map<String, Integer> exactCounts(String text) throws IOException {
+        Map<String, Integer> exact = new HashMap<>();
+        Deque<String> window = new ArrayDeque<>();
+        new StreamingTokenizer().tokenize(new StringReader(text), (chars, length) -> {
+            length = NORMALIZER.normalize(chars, length);
+            if (length < 3) {
+                window.clear();
+                return;
+            }
+            window.addLast(new String(chars, 0, length));
+            if (window.size() > 3) {
+                window.removeFirst();
+            }
+            List<String> tokens = new ArrayList<>(window);
+            for (int n = 2; n <= tokens.size(); n++) {
+                exact.merge(String.join(" ", tokens.subList(tokens.size() - n, tokens.size())), 1, Integer::sum);
+            }
+        });
+        return exact;
+    }
+
+    @Test
+    void findsTheSameTopPhrasesAsExactCounting() throws IOException {
+        String text = sampleCorpus();
+        Map<String, Integer> exact = exactCounts(text);
+        LinkedHashMap<String, Integer> top = sketch(text, 27183, 5).top(4);
+
+        List<String> expected = exact.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(4)
+                .map(Map.Entry::getKey)
+                .toList();
+        assertEquals(expected, new ArrayList<>(top.keySet()));
+        top.forEach((phrase, estimate) -> assertEquals(exact.get(phrase), estimate));
+    }
+
+    @Test
+    void staysWithinTheErrorBoundOnATinySketch() throws IOException {
+        String text = sampleCorpus();
+        Map<String, Integer> exact = exactCounts(text);
+        double epsilon = 0.01;
+        PhraseCounter phrases = new PhraseCounter(new CountMinSketch(epsilon, 0.01), 50);
+        new StreamingTokenizer().tokenize(new StringReader(text), new TermCounter(NORMALIZER, 1, phrases));
+        long total = exact.values().stream().mapToLong(Integer::intValue).sum();
+
+        phrases.top(10).forEach((phrase, estimate) -> {
+            int actual = exact.getOrDefault(phrase, 0);
+            assertTrue(estimate >= actual, phrase + " underestimated");
+            assertTrue(estimate <= actual + epsilon * total, phrase + " over the error bound");
+        });
+        assertTrue(phrases.top(3).containsKey("neural network model"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.smu.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingTokenizerTests {
+
+    // The original counting loop from AnalysisService.
+    private static Map<String, Integer> splitCount(String text) {
+        Map<String, Integer> freq = new HashMap<>();
+        for (String word : text.toLowerCase().split("\\W+")) {
+            if (word.length() > 4) {
+                freq.put(word, freq.getOrDefault(word, 0) + 1);
+            }
+        }
+        return freq;
+    }
+
+    private static Map<String, Integer> streamCount(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return StreamingTokenizer.countKeywords(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void matchesSplitOnSimpleText() throws IOException {
+        String text = "Neural networks, NEURAL networks and graph_theory! Analysis: 2024 results; résumé İstanbul.";
+        assertEquals(splitCount(text), streamCount(text));
+    }
+
+    @Test
+    void matchesSplitAcrossChunkBoundaries() throws IOException {
+        Random random = new Random(42);
+        String alphabet = "abcdeFGHIJ0123_ .,;-\n\téü";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < StreamingTokenizer.BUFFER_SIZE * 5 + 17; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        // A word straddling the first buffer boundary.
+        sb.insert(StreamingTokenizer.BUFFER_SIZE - 3, " boundaryword ");
+        String text = sb.toString();
+        assertEquals(splitCount(text), streamCount(text));
+    }
+
+    @Test
+    void handlesEmptyInput() throws IOException {
+        assertEquals(splitCount(""), streamCount(""));
+    }
+
+    @Test
+    void counterTopMatchesTopKOverTheMap() throws IOException {
+        Random random = new Random(7);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            sb.append("w").append(Integer.toString(50_000 + random.nextInt(3000), 36)).append(" ab ");
+        }
+        TermCounter counter = new TermCounter(TermNormalizer.NONE, 1);
+        new StreamingTokenizer().tokenize(new StringReader(sb.toString()), counter);
+        assertEquals(TopK.select(StreamingTokenizer.keywordsOf(counter.toMap()), 10),
+                counter.top(10, StreamingTokenizer.MIN_KEYWORD_LENGTH));
+    }
+}
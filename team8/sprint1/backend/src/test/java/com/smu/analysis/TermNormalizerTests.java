@@ -0,0 +1,55 @@
+package com.smu.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TermNormalizerTests {
+
+    private final TermNormalizer normalizer = new TermNormalizer(TermNormalizer.DEFAULT_STOPWORDS, true);
+
+    @Test
+    void collapsesCommonPlurals() {
+        assertEquals("analys", normalizer.normalize("analysis"));
+        assertEquals("analys", normalizer.normalize("analyses"));
+        assertEquals("hypothes", normalizer.normalize("hypotheses"));
+        assertEquals("study", normalizer.normalize("studies"));
+        assertEquals("network", normalizer.normalize("networks"));
+        assertEquals("disease", normalizer.normalize("diseases"));
+        assertEquals("basis", normalizer.normalize("basis"));
+        assertEquals("corpus", normalizer.normalize("corpus"));
+    }
+
+    @Test
+    void dropsStopwords() {
+        assertNull(normalizer.normalize("between"));
+        assertEquals("graph", normalizer.normalize("graph"));
+    }
+
+    @Test
+    void countsThroughTheDictionary() throws IOException {
+        String text = "The analyses and the analysis of networks; a network between networks.";
+        Map<String, Integer> counts = StreamingTokenizer.countTerms(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, 1, normalizer);
+        assertEquals(Map.of("analys", 2, "network", 3), counts);
+    }
+
+    @Test
+    void dictionaryKeepsIdsStableWhileGrowing() {
+        TermDictionary dictionary = new TermDictionary();
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, dictionary.add("term" + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            String term = "term" + i;
+            assertEquals(i, dictionary.idOf(term.toCharArray(), term.length()));
+        }
+        assertEquals(-1, dictionary.idOf("missing".toCharArray(), 7));
+    }
+}
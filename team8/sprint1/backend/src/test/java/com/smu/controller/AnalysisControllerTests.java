@@ -0,0 +1,171 @@
+package com.smu.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smu.service.AnalysisJobService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AnalysisControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static MockMultipartFile file(String param, String filename, String text) {
+        return new MockMultipartFile(param, filename, "text/plain", text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JsonNode json(byte[] body) throws Exception {
+        return objectMapper.readTree(body);
+    }
+
+    @Test
+    void batchWithPreviouslyAnalyzedFileSucceeds() throws Exception {
+        String known = "Glaciers retreating across northern mountain ranges change regional hydrology patterns.";
+        JsonNode first = json(mockMvc.perform(multipart("/api/analyze").file(file("file", "glaciers.txt", known)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+
+        byte[] body = mockMvc.perform(multipart("/api/analyze/batch")
+                        .file(file("files", "glaciers-again.txt", known))
+                        .file(file("files", "coral.txt", "Coral reefs bleaching under warmer oceans lose symbiotic algae."))
+                        .file(file("files", "coral-copy.txt", "Coral reefs bleaching under warmer oceans lose symbiotic algae.")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode response = json(body);
+        assertEquals(3, response.get("documents").size());
+        assertEquals(3, response.get("corpus").get("files").asInt());
+        JsonNode again = response.get("documents").get(0);
+        assertEquals("glaciers-again.txt", again.get("filename").asText());
+        assertEquals(first.get("keywords"), again.get("keywords"));
+        assertEquals(response.get("documents").get(1).get("keywords"), response.get("documents").get(2).get("keywords"));
+    }
+
+    @Test
+    void asyncAnalysisIsAcceptedAndPolledUntilComplete() throws Exception {
+        JsonNode accepted = json(mockMvc.perform(multipart("/api/analyze")
+                        .file(file("file", "tides.txt", "Tidal turbines harvest energy from predictable ocean currents."))
+                        .param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsByteArray());
+        String jobId = accepted.get("jobId").asText();
+
+        JsonNode job = accepted;
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!job.get("status").asText().equals("COMPLETED") && System.nanoTime() < deadline) {
+            assertNotEquals("FAILED", job.get("status").asText(), job.toString());
+            Thread.sleep(20);
+            job = json(mockMvc.perform(get("/api/analyze/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsByteArray());
+        }
+        assertEquals("COMPLETED", job.get("status").asText());
+        assertTrue(job.get("result").get("keywords").toString().contains("turbines"));
+
+        mockMvc.perform(get("/api/analyze/{jobId}", "no-such-job")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void fullQueueIsAnswered429() throws Exception {
+        AnalysisJobService fullQueue = mock(AnalysisJobService.class);
+        when(fullQueue.submit(any())).thenThrow(new RejectedExecutionException("Analysis queue is full"));
+        when(fullQueue.getQueueDepth()).thenReturn(100);
+        AnalysisController controller = new AnalysisController();
+        ReflectionTestUtils.setField(controller, "analysisJobService", fullQueue);
+        MockMvc standalone = MockMvcBuilders.standaloneSetup(controller).build();
+
+        standalone.perform(multipart("/api/analyze")
+                        .file(file("file", "tides.txt", "Tidal turbines."))
+                        .param("async", "true"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.queueDepth").value(100));
+    }
+
+    private List<JsonNode> streamLines(MockMultipartFile file) throws Exception {
+        MvcResult started = mockMvc.perform(multipart("/api/analyze/stream").file(file))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    @Test
+    void streamReportsProgressWhileStoringAndCounting() throws Exception {
+        String text = "Seagrass meadows store carbon in coastal sediments. ".repeat(800);
+        List<JsonNode> lines = streamLines(file("file", "seagrass.txt", text));
+
+        assertEquals("started", lines.get(0).get("type").asText());
+        List<String> phases = lines.stream()
+                .filter(line -> line.get("type").asText().equals("progress"))
+                .map(line -> line.get("phase").asText())
+                .distinct().toList();
+        assertEquals(List.of("STORING", "COUNTING"), phases);
+        JsonNode last = lines.get(lines.size() - 1);
+        assertEquals("result", last.get("type").asText());
+        assertTrue(last.get("keywords").toString().contains("seagrass"));
+    }
+
+    @Test
+    void streamEndsWithAnErrorLineWhenTheUploadCannotBeRead() throws Exception {
+        // Fails with an IOException after its first bytes.
+        MockMultipartFile broken = new MockMultipartFile("file", "broken.txt", "text/plain", new byte[10_000]) {
+            @Override
+            public InputStream getInputStream() {
+                return new SequenceInputStream(new ByteArrayInputStream(new byte[100]), new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Upload interrupted");
+                    }
+                });
+            }
+        };
+        List<JsonNode> lines = streamLines(broken);
+
+        JsonNode last = lines.get(lines.size() - 1);
+        assertEquals("error", last.get("type").asText());
+        assertEquals("Upload interrupted", last.get("error").asText());
+    }
+}
@@ -0,0 +1,139 @@
+package com.smu.index;
+
+import com.smu.analysis.TermNormalizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTests {
+
+    @TempDir
+    Path directory;
+
+    private InvertedIndex open() throws Exception {
+        InvertedIndex index = new InvertedIndex(directory.toString(), 2, TermNormalizer.NONE);
+        index.load();
+        return index;
+    }
+
+    @Test
+    void ranksDocumentsAndSurvivesRestart() throws Exception {
+        InvertedIndex index = open();
+        index.addDocument(1, Map.of("neural", 5, "network", 3, "graph", 1));
+        index.addDocument(2, Map.of("graph", 4, "theory", 2));
+        index.addDocument(3, Map.of("neural", 1, "graph", 1, "theory", 1));
+
+        List<SearchHit> hits = index.search("Neural Network", 10);
+        assertEquals(List.of(1L, 3L), hits.stream().map(SearchHit::getDocId).toList());
+        index.close();
+
+        // The snapshot plus journal tail restore the same ranking.
+        InvertedIndex reopened = open();
+        assertEquals(3, reopened.getDocumentCount());
+        List<SearchHit> reloaded = reopened.search("neural network", 10);
+        assertEquals(hits.size(), reloaded.size());
+        for (int i = 0; i < hits.size(); i++) {
+            assertEquals(hits.get(i).getDocId(), reloaded.get(i).getDocId());
+            assertEquals(hits.get(i).getScore(), reloaded.get(i).getScore(), 1e-12);
+        }
+        reopened.close();
+    }
+
+    @Test
+    void keepsPostingsSortedWhenDocumentsArriveOutOfOrder() throws Exception {
+        InvertedIndex index = open();
+        index.addDocument(300, Map.of("graph", 1));
+        index.addDocument(5, Map.of("graph", 1));
+        index.addDocument(70000, Map.of("graph", 1));
+
+        PostingsList list = new PostingsList();
+        list.add(300, 1);
+        list.add(5, 2);
+        list.add(70000, 3);
+        StringBuilder order = new StringBuilder();
+        list.forEach((docId, tf) -> order.append(docId).append(':').append(tf).append(' '));
+        assertEquals("5:2 300:1 70000:3 ", order.toString());
+        assertEquals(3, index.search("graph", 10).size());
+        index.close();
+    }
+
+    @Test
+    void keepsAdditionsMadeAfterACompactionWithoutAClose() throws Exception {
+        InvertedIndex index = open();
+        index.addDocument(1, Map.of("graph", 2));
+        index.addDocument(2, Map.of("theory", 1));
+        index.compact();
+        index.addDocument(3, Map.of("graph", 1, "theory", 1));
+        assertFalse(Files.exists(directory.resolve("postings.journal.compacting")));
+
+        // No close: the snapshot has 1 and 2, the journal has 3.
+        InvertedIndex reopened = open();
+        assertEquals(3, reopened.getDocumentCount());
+        assertEquals(List.of(1L, 3L), reopened.search("graph", 10).stream().map(SearchHit::getDocId).toList());
+        reopened.close();
+        index.close();
+    }
+
+    @Test
+    void replaysTheJournalOfASnapshotThatNeverFinished() throws Exception {
+        InvertedIndex index = open();
+        index.addDocument(1, Map.of("graph", 1));
+        index.compact();
+        index.addDocument(2, Map.of("graph", 1));
+        index.addDocument(3, Map.of("graph", 1));
+        // As if the journal had been moved aside but the snapshot was never written.
+        Files.move(directory.resolve("postings.journal"), directory.resolve("postings.journal.compacting"));
+
+        InvertedIndex reopened = open();
+        assertEquals(3, reopened.getDocumentCount());
+        assertFalse(Files.exists(directory.resolve("postings.journal.compacting")));
+        reopened.close();
+    }
+
+    @Test
+    void dropsATornRecordThatIsAllTheJournalHolds() throws Exception {
+        InvertedIndex index = open();
+        index.addDocument(1, Map.of("graph", 1));
+        index.close();
+        // A crash during the first append after the snapshot.
+        Files.write(directory.resolve("postings.journal"), new byte[]{0, 0, 0, 0, 0, 0, 0, 9, 0, 0},
+                StandardOpenOption.APPEND);
+
+        InvertedIndex reopened = open();
+        reopened.addDocument(2, Map.of("graph", 1));
+        reopened.addDocument(3, Map.of("theory", 1));
+
+        // No close: 2 and 3 are only in the journal.
+        InvertedIndex again = open();
+        assertEquals(3, again.getDocumentCount());
+        assertEquals(List.of(1L, 2L), again.search("graph", 10).stream().map(SearchHit::getDocId).toList());
+        again.close();
+        reopened.close();
+    }
+
+    @Test
+    void retriesAFailedSnapshotOnTheNextRun() throws Exception {
+        InvertedIndex index = open();
+        // A directory where the snapshot is written makes the write fail.
+        Path temp = Files.createDirectory(directory.resolve("postings.snapshot.tmp"));
+        index.addDocument(1, Map.of("graph", 1));
+        index.addDocument(2, Map.of("graph", 1));
+        index.compactIfDue();
+        assertTrue(Files.exists(directory.resolve("postings.journal.compacting")));
+
+        Files.delete(temp);
+        index.compactIfDue();
+        assertFalse(Files.exists(directory.resolve("postings.journal.compacting")));
+        assertTrue(Files.exists(directory.resolve("postings.snapshot")));
+        index.close();
+    }
+}
@@ -0,0 +1,76 @@
+package com.smu.index;
+
+import com.smu.analysis.MinHash;
+import com.smu.analysis.StreamingTokenizer;
+import com.smu.analysis.TermCounter;
+import com.smu.analysis.TermNormalizer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NearDuplicateIndexTests {
+
+    private static List<String> randomWords(Random random, int count) {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            words.add("w" + Integer.toString(random.nextInt(5000), 36) + "x");
+        }
+        return words;
+    }
+
+    private static int[] signatureOf(NearDuplicateIndex index, List<String> words) throws IOException {
+        MinHash signature = index.newSignature();
+        new StreamingTokenizer().tokenize(new StringReader(String.join(" ", words)),
+                new TermCounter(TermNormalizer.NONE, 1, signature));
+        return signature.signature();
+    }
+
+    private static Set<String> shingles(List<String> words) {
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i + 3 <= words.size(); i++) {
+            shingles.add(String.join(" ", words.subList(i, i + 3)));
+        }
+        return shingles;
+    }
+
+    @Test
+    void findsAnEditedCopyButNotUnrelatedDocuments() throws IOException {
+        NearDuplicateIndex index = new NearDuplicateIndex(128, 0.8, null);
+        Random random = new Random(12);
+        List<String> original = randomWords(random, 5000);
+        index.add(1, signatureOf(index, original));
+        for (long docId = 2; docId <= 50; docId++) {
+            index.add(docId, signatureOf(index, randomWords(random, 5000)));
+        }
+
+        // A revision with a few words changed.
+        List<String> revised = new ArrayList<>(original);
+        for (int i = 0; i < 25; i++) {
+            revised.set(random.nextInt(revised.size()), "revised");
+        }
+        Set<String> a = shingles(original);
+        Set<String> b = shingles(revised);
+        Set<String> union = new HashSet<>(a);
+        union.addAll(b);
+        a.retainAll(b);
+        double jaccard = (double) a.size() / union.size();
+
+        List<NearDuplicate> matches = index.find(signatureOf(index, revised), 10);
+        assertEquals(1, matches.size());
+        assertEquals(1, matches.get(0).getDocId());
+        assertEquals(jaccard, matches.get(0).getSimilarity(), 0.1);
+
+        assertTrue(index.find(signatureOf(index, randomWords(random, 5000)), 10).isEmpty());
+    }
+
+    @Test
+    void choosesBandsBelowTheThreshold() {
+        assertEquals(8, NearDuplicateIndex.rowsPerBand(128, 0.8));
+        assertEquals(4, NearDuplicateIndex.rowsPerBand(128, 0.5));
+    }
+}
@@ -0,0 +1,127 @@
+package com.smu.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TermVectorStoreTests {
+
+    @TempDir
+    Path directory;
+
+    private TermVectorStore open() throws Exception {
+        TermVectorStore store = new TermVectorStore(directory.toString());
+        store.load();
+        return store;
+    }
+
+    private static Map<String, Map<String, Integer>> scan(TermVectorStore store) throws Exception {
+        Map<String, Map<String, Integer>> vectors = new TreeMap<>();
+        store.forEach((docId, epochDay, termIds, counts, length) -> {
+            Map<String, Integer> vector = new HashMap<>();
+            for (int i = 0; i < length; i++) {
+                vector.put(store.term(termIds[i]), counts[i]);
+            }
+            vectors.put(docId + "@" + LocalDate.ofEpochDay(epochDay), vector);
+        });
+        return vectors;
+    }
+
+    @Test
+    void storesVectorsAndSurvivesRestart() throws Exception {
+        LocalDate day = LocalDate.of(2025, 3, 14);
+        TermVectorStore store = open();
+        store.addDocument(1, day, Map.of("neural", 5, "network", 3));
+        store.addDocument(2, day.plusDays(1), Map.of("graph", 4, "network", 1));
+        Map<String, Map<String, Integer>> expected = Map.of(
+                "1@2025-03-14", Map.of("neural", 5, "network", 3),
+                "2@2025-03-15", Map.of("graph", 4, "network", 1));
+        assertEquals(expected, scan(store));
+        store.close();
+
+        TermVectorStore reopened = open();
+        assertEquals(2, reopened.getDocumentCount());
+        assertEquals(expected, scan(reopened));
+        int[][] vector = reopened.vectorOf(2);
+        Map<String, Integer> single = new HashMap<>();
+        for (int i = 0; i < vector[0].length; i++) {
+            single.put(reopened.term(vector[0][i]), vector[1][i]);
+        }
+        assertEquals(Map.of("graph", 4, "network", 1), single);
+        reopened.close();
+    }
+
+    @Test
+    void dropsARecordCutShortByACrash() throws Exception {
+        TermVectorStore store = open();
+        store.addDocument(1, LocalDate.of(2025, 1, 1), Map.of("graph", 2));
+        store.close();
+        Files.write(directory.resolve("vectors.dat"), new byte[]{0, 0, 0, 0, 0, 0, 0, 9, 0}, StandardOpenOption.APPEND);
+
+        TermVectorStore reopened = open();
+        assertEquals(1, reopened.getDocumentCount());
+        reopened.addDocument(3, LocalDate.of(2025, 1, 2), Map.of("theory", 1));
+        assertEquals(Set.of("1@2025-01-01", "3@2025-01-02"), scan(reopened).keySet());
+        reopened.close();
+    }
+
+    @Test
+    void rollsBackAFailedWriteSoTheStoreReloadsCleanly() throws Exception {
+        // Lets a few bytes of the vector file through, then fails every write.
+        int[] vectorBytesLeft = {-1};
+        TermVectorStore store = new TermVectorStore(directory.toString()) {
+            @Override
+            OutputStream openAppend(Path file) throws IOException {
+                OutputStream out = super.openAppend(file);
+                if (!file.getFileName().toString().equals("vectors.dat")) {
+                    return out;
+                }
+                return new FilterOutputStream(out) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        if (vectorBytesLeft[0] == 0) {
+                            throw new IOException("disk full");
+                        }
+                        if (vectorBytesLeft[0] > 0) {
+                            vectorBytesLeft[0]--;
+                        }
+                        out.write(b);
+                    }
+                };
+            }
+        };
+        store.load();
+        store.addDocument(1, LocalDate.of(2025, 1, 1), Map.of("graph", 2));
+
+        vectorBytesLeft[0] = 5;
+        assertThrows(IOException.class,
+                () -> store.addDocument(2, LocalDate.of(2025, 1, 2), Map.of("novel", 1, "graph", 1)));
+        assertEquals(-1, store.termId("novel"));
+        assertEquals(1, store.getDocumentCount());
+
+        vectorBytesLeft[0] = -1;
+        store.addDocument(3, LocalDate.of(2025, 1, 3), Map.of("theory", 1, "graph", 3));
+        Map<String, Map<String, Integer>> expected = Map.of(
+                "1@2025-01-01", Map.of("graph", 2),
+                "3@2025-01-03", Map.of("theory", 1, "graph", 3));
+        assertEquals(expected, scan(store));
+        store.close();
+
+        TermVectorStore reopened = open();
+        assertEquals(expected, scan(reopened));
+        assertEquals(2, reopened.getTermCount());
+        assertEquals(-1, reopened.termId("novel"));
+        reopened.close();
+    }
+}
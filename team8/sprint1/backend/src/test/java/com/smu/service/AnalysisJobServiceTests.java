@@ -0,0 +1,107 @@
+package com.smu.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalysisJobServiceTests {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AnalysisService analysisService = mock(AnalysisService.class);
+    private final AnalysisJobService jobs = new AnalysisJobService(1, 1, 0);
+
+    AnalysisJobServiceTests() throws IOException {
+        // Every analysis waits until the test releases it.
+        when(analysisService.analyzeDocument(anyString(), any(InputStreamSource.class))).thenAnswer(invocation -> {
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return Map.of("keywords", List.of("glacier"));
+        });
+        ReflectionTestUtils.setField(jobs, "analysisService", analysisService);
+    }
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        jobs.shutdown();
+    }
+
+    // Counts how often the upload is copied to the spool file.
+    private static class CountingFile extends MockMultipartFile {
+        final AtomicInteger transfers = new AtomicInteger();
+
+        CountingFile(String name) {
+            super("file", name, "text/plain", "Glaciers retreat.".getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            transfers.incrementAndGet();
+            super.transferTo(dest);
+        }
+    }
+
+    private static void awaitStatus(AnalysisJob job, AnalysisJob.Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (job.getStatus() != status && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(status, job.getStatus());
+    }
+
+    @Test
+    void runsJobsInTheBackgroundAndKeepsTheResultForPolling() throws Exception {
+        AnalysisJob job = jobs.submit(new CountingFile("glaciers.txt"));
+        awaitStatus(job, AnalysisJob.Status.RUNNING);
+        assertSame(job, jobs.getJob(job.getId()).orElseThrow());
+
+        release.countDown();
+        awaitStatus(job, AnalysisJob.Status.COMPLETED);
+        assertEquals(Map.of("keywords", List.of("glacier")), job.getResult());
+        assertNotNull(job.getFinishedAt());
+    }
+
+    @Test
+    void rejectsAFullQueueBeforeSpoolingTheUpload() throws Exception {
+        AnalysisJob running = jobs.submit(new CountingFile("a.txt"));
+        awaitStatus(running, AnalysisJob.Status.RUNNING);
+        AnalysisJob queued = jobs.submit(new CountingFile("b.txt"));
+        assertEquals(AnalysisJob.Status.QUEUED, queued.getStatus());
+        assertEquals(1, jobs.getQueueDepth());
+
+        CountingFile rejected = new CountingFile("c.txt");
+        assertThrows(RejectedExecutionException.class, () -> jobs.submit(rejected));
+        assertEquals(0, rejected.transfers.get());
+
+        release.countDown();
+        awaitStatus(queued, AnalysisJob.Status.COMPLETED);
+    }
+
+    @Test
+    void purgesFinishedJobsPastTheRetention() throws Exception {
+        release.countDown();
+        AnalysisJob job = jobs.submit(new CountingFile("glaciers.txt"));
+        awaitStatus(job, AnalysisJob.Status.COMPLETED);
+        Thread.sleep(5);
+
+        jobs.purgeFinishedJobs();
+        assertTrue(jobs.getJob(job.getId()).isEmpty());
+    }
+}
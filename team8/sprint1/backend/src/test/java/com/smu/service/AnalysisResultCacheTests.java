@@ -0,0 +1,45 @@
+package com.smu.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AnalysisResultCacheTests {
+
+    @Test
+    void dropsResultsOnceTheCorpusHasGrownPastTheLimit() {
+        AnalysisResultCache cache = new AnalysisResultCache(10, 0.1);
+        Map<String, Object> result = Map.of("keywords", "glacier");
+        cache.put("a", result, 100);
+        cache.put("b", result, 0);
+
+        assertEquals(result, cache.get("a", 100));
+        assertEquals(result, cache.get("a", 110));
+        assertNull(cache.get("a", 111));
+        assertNull(cache.get("a", 100));
+        assertEquals(result, cache.get("b", 0));
+        assertNull(cache.get("b", 1));
+
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(3L, stats.get("hits"));
+        assertEquals(3L, stats.get("misses"));
+        assertEquals(2L, stats.get("expirations"));
+        assertEquals(0, stats.get("size"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        AnalysisResultCache cache = new AnalysisResultCache(2, 0.1);
+        cache.put("a", Map.of(), 0);
+        cache.put("b", Map.of(), 0);
+        cache.get("a", 0);
+        cache.put("c", Map.of(), 0);
+
+        assertNull(cache.get("b", 0));
+        assertEquals(Map.of(), cache.get("a", 0));
+        assertEquals(1L, cache.getStats().get("evictions"));
+    }
+}
@@ -0,0 +1,232 @@
+package com.smu.service;
+
+import com.smu.model.Document;
+import com.smu.model.DocumentFrequency;
+import com.smu.repository.DocumentFrequencyRepository;
+import com.smu.repository.DocumentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AnalysisServiceTests {
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    @Autowired
+    private AnalysisResultCache resultCache;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private CorpusStatisticsService corpusStatisticsService;
+
+    @Autowired
+    private DocumentFrequencyRepository documentFrequencyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private static ByteArrayResource text(String text) {
+        return new ByteArrayResource(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long documentFrequency(String term) {
+        return documentFrequencyRepository.findById(term).map(DocumentFrequency::getDocumentCount).orElse(0L);
+    }
+
+    private static Map<String, Double> scores(Map<String, Object> result) {
+        Map<String, Double> scores = new HashMap<>();
+        for (Object topic : (List<?>) result.get("topics")) {
+            Map<?, ?> entry = (Map<?, ?>) topic;
+            scores.put((String) entry.get("label"), (Double) entry.get("score"));
+        }
+        return scores;
+    }
+
+    private static MockMultipartFile file(String filename, String text) {
+        return new MockMultipartFile("files", filename, "text/plain", text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(String text) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    @Test
+    void topicScoresAreTermFrequencyTimesInverseDocumentFrequency() throws Exception {
+        long documents = corpusStatisticsService.getDocumentCount();
+
+        // Each score counts the document itself: N = documents + 1 while the first is saved.
+        Map<String, Double> first = scores(analysisService.analyzeDocument("first.txt",
+                text("zorblatine zorblatine quenixary")));
+        assertEquals(2.0 / 3 * (Math.log((documents + 2) / 2.0) + 1), first.get("zorblatine"), 1e-9);
+        assertEquals(1.0 / 3 * (Math.log((documents + 2) / 2.0) + 1), first.get("quenixary"), 1e-9);
+
+        Map<String, Double> second = scores(analysisService.analyzeDocument("second.txt",
+                text("zorblatine plimsovent plimsovent plimsovent")));
+        assertEquals(1.0 / 4 * (Math.log((documents + 3) / 3.0) + 1), second.get("zorblatine"), 1e-9);
+        assertEquals(3.0 / 4 * (Math.log((documents + 3) / 2.0) + 1), second.get("plimsovent"), 1e-9);
+    }
+
+    @Test
+    void documentFrequencyCountsEachDocumentOncePerTerm() throws Exception {
+        String text = "trellimond trellimond trellimond vaskuroth";
+        long documents = corpusStatisticsService.getDocumentCount();
+
+        analysisService.analyzeDocument("trellimond.txt", text(text));
+        assertEquals(1, documentFrequency("trellimond"));
+        assertEquals(1, documentFrequency("vaskuroth"));
+        assertEquals(documents + 1, corpusStatisticsService.getDocumentCount());
+
+        // The duplicate is answered from the cache and is not a new document.
+        analysisService.analyzeDocument("trellimond-again.txt", text(text));
+        assertEquals(1, documentFrequency("trellimond"));
+        assertEquals(1, documentFrequency("vaskuroth"));
+        assertEquals(documents + 1, corpusStatisticsService.getDocumentCount());
+
+        analysisService.analyzeDocument("trellimond-more.txt", text("trellimond trellimond"));
+        assertEquals(2, documentFrequency("trellimond"));
+        assertEquals(1, documentFrequency("vaskuroth"));
+        assertEquals(documents + 2, corpusStatisticsService.getDocumentCount());
+    }
+
+    @Test
+    void batchSummarizesTheMergedCountsAndSavesInOneTransaction() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Map<String, Object> response = analysisService.analyzeBatch(List.of(
+                file("a.txt", "krondavel krondavel krondavel mishtoral"),
+                file("b.txt", "mishtoral mishtoral fennigast"),
+                file("c.txt", "krondavel fennigast fennigast fennigast fennigast")));
+
+        long transactions = statistics.getTransactionCount();
+        long inserts = statistics.getEntityInsertCount();
+        statistics.setStatisticsEnabled(false);
+
+        // fennigast 1 + 4, krondavel 3 + 1, mishtoral 1 + 2
+        Map<?, ?> corpus = (Map<?, ?>) response.get("corpus");
+        assertEquals(3, corpus.get("files"));
+        assertEquals(3, corpus.get("distinctKeywords"));
+        assertEquals(List.of("fennigast", "krondavel", "mishtoral"), corpus.get("keywords"));
+
+        List<?> documents = (List<?>) response.get("documents");
+        assertEquals(List.of("krondavel", "mishtoral"), ((Map<?, ?>) documents.get(0)).get("keywords"));
+        assertEquals(List.of("mishtoral", "fennigast"), ((Map<?, ?>) documents.get(1)).get("keywords"));
+        assertEquals(List.of("fennigast", "krondavel"), ((Map<?, ?>) documents.get(2)).get("keywords"));
+
+        assertEquals(3, inserts);
+        assertEquals(1, transactions);
+    }
+
+    @Test
+    void repeatedUploadIsAnsweredFromTheCache() throws Exception {
+        String text = "Volcanic ash plumes disrupt aviation routes across southern hemisphere airspace.";
+        Map<String, Object> first = analysisService.analyzeDocument("ash.txt", text(text));
+        long hits = (Long) resultCache.getStats().get("hits");
+        long documents = documentRepository.count();
+
+        Map<String, Object> second = analysisService.analyzeDocument("ash-again.txt", text(text));
+
+        assertSame(first, second);
+        assertEquals(hits + 1, resultCache.getStats().get("hits"));
+        assertEquals(documents, documentRepository.count());
+    }
+
+    @Test
+    void contentStoredBeforeReusesItsRow() throws Exception {
+        String text = "Migratory songbirds navigate using magnetic field cues during nocturnal flights.";
+        Document stored = new Document();
+        stored.setFilename("songbirds.txt");
+        stored.setContentHash(sha256(text));
+        documentRepository.save(stored);
+        long documents = documentRepository.count();
+
+        Map<String, Object> result = analysisService.analyzeDocument("songbirds-copy.txt", text(text));
+
+        assertTrue(((List<?>) result.get("keywords")).contains("songbirds"));
+        assertEquals(documents, documentRepository.count());
+    }
+
+    @Test
+    void keywordsKeepTheWordsAsWritten() throws Exception {
+        Map<String, Object> result = analysisService.analyzeDocument("methods.txt", text(
+                "Competing hypotheses guide the analyses; the analyses test hypotheses about tidal estuaries."));
+
+        List<?> keywords = (List<?>) result.get("keywords");
+        assertTrue(keywords.contains("hypotheses"));
+        assertTrue(keywords.contains("analyses"));
+        assertFalse(keywords.contains("hypothes"));
+    }
+
+    @Test
+    void concurrentUploadOfTheSameContentReusesTheFirstRow() throws Exception {
+        String text = "Permafrost thaw releases methane from carbon stored in arctic peatland soils.";
+        String hash = sha256(text);
+        long documents = documentRepository.count();
+
+        // Another upload's insert of the same content, not yet committed: invisible to
+        // findByContentHash, but holding the unique content_hash.
+        TransactionTemplate other = new TransactionTemplate(transactionManager);
+        other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> other.executeWithoutResult(status -> {
+            Document row = new Document();
+            row.setFilename("permafrost.txt");
+            row.setContentHash(hash);
+            documentRepository.saveAndFlush(row);
+            inserted.countDown();
+            try {
+                commit.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(inserted.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<Map<String, Object>> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return analysisService.analyzeDocument("permafrost-copy.txt", text(text));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        // Let the second upload check for the hash and block on the first one's insert.
+        Thread.sleep(500);
+        commit.countDown();
+        first.get(10, TimeUnit.SECONDS);
+
+        Map<String, Object> result = second.get(10, TimeUnit.SECONDS);
+        assertTrue(((List<?>) result.get("keywords")).contains("permafrost"));
+        assertEquals(documents + 1, documentRepository.count());
+        assertTrue(documentRepository.findByContentHash(hash).isPresent());
+    }
+}
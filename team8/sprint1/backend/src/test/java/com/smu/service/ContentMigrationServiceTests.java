@@ -0,0 +1,47 @@
+package com.smu.service;
+
+import com.smu.model.Document;
+import com.smu.repository.DocumentRepository;
+import com.smu.storage.ContentStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class ContentMigrationServiceTests {
+
+    @Autowired
+    private ContentMigrationService contentMigrationService;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void movesLegacyTextIntoTheContentStore() throws Exception {
+        String text = "Coral reefs bleach when ocean temperatures stay above their seasonal maximum.";
+        jdbcTemplate.update("insert into document (filename, content) values (?, ?)", "reefs.txt", text);
+        long id = jdbcTemplate.queryForObject("select id from document where filename = 'reefs.txt'", Long.class);
+
+        contentMigrationService.migrateAll();
+
+        Document doc = documentRepository.findById(id).orElseThrow();
+        try (InputStream in = contentStore.open(doc.getContentKey())) {
+            assertEquals(text, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals(text.length(), doc.getContentSize());
+        assertNull(jdbcTemplate.queryForObject("select content from document where id = ?", String.class, id));
+    }
+}
@@ -0,0 +1,45 @@
+package com.smu.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class DocumentSearchServiceTests {
+
+    @Autowired
+    private DocumentSearchService documentSearchService;
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void returnsFilenamesWithoutLoadingDocuments() throws Exception {
+        analysisService.analyzeDocument("glaciers.txt", new ByteArrayResource(
+                "Tidewater glaciers calve icebergs into fjords as meltwater lubricates their beds."
+                        .getBytes(StandardCharsets.UTF_8)));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<Map<String, Object>> results = documentSearchService.search("tidewater fjords", 10);
+
+        assertEquals(1, results.size());
+        assertEquals("glaciers.txt", results.get(0).get("filename"));
+        assertEquals(0, statistics.getEntityLoadCount());
+        statistics.setStatisticsEnabled(false);
+    }
+}